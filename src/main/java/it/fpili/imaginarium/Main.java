@@ -1,6 +1,7 @@
 package it.fpili.imaginarium;
 
-import it.fpili.imaginarium.adapter.CsvRepositoryToJsonAdapter;
+import it.fpili.imaginarium.adapter.IncrementalJsonExporter;
+import it.fpili.imaginarium.adapter.SnapshotJsonExporter;
 import it.fpili.imaginarium.composite.CatalogCategory;
 import it.fpili.imaginarium.composite.CatalogComponent;
 import it.fpili.imaginarium.composite.CatalogItem;
@@ -10,15 +11,20 @@ import it.fpili.imaginarium.iterator.CatalogItemCollection;
 import it.fpili.imaginarium.iterator.ItemIterator;
 import it.fpili.imaginarium.model.Item;
 import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.search.FacetCounter;
+import it.fpili.imaginarium.service.BulkReport;
 import it.fpili.imaginarium.service.CatalogService;
+import it.fpili.imaginarium.service.ConflictPolicy;
+import it.fpili.imaginarium.service.ImportReport;
+import it.fpili.imaginarium.service.Page;
 import it.fpili.imaginarium.shielding.ExceptionShieldingHandler;
 import it.fpili.imaginarium.util.InputSanitizer;
 import it.fpili.imaginarium.util.LoggerConfig;
-import it.fpili.imaginarium.util.SafeIO;
 
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.logging.Level;
@@ -37,6 +43,12 @@ public final class
 Main {
     private static final Logger log = LoggerConfig.getLogger(Main.class);
 
+    /** Number of rejected rows printed after an import. */
+    private static final int IMPORT_ERRORS_SHOWN = 10;
+
+    /** Number of items fetched per page when listing. */
+    private static final int LIST_PAGE_SIZE = 50;
+
     /**
      * Application entry point. Shows a looped menu and delegates to flows.
      *
@@ -46,7 +58,12 @@ Main {
         log.info("Imaginarium CLI started");
 
         // Repository + Service wiring (relative data path; no hardcoded secrets).
-        CatalogService service = new CatalogService(new CsvItemRepository(Path.of("data", "items.csv")));
+        // The exporter shares the repository, so it sees every write and keeps its fragments across exports;
+        // the exported file is reused as long as no write went through the service.
+        CsvItemRepository repo = new CsvItemRepository(Path.of("data", "items.csv"));
+        CatalogService service = new CatalogService(repo);
+        SnapshotJsonExporter exporter = new SnapshotJsonExporter(
+                new IncrementalJsonExporter(repo), service::writeCount, Path.of("data", "items.json"));
 
         // Centralized Exception Shielding handler.
         ExceptionShieldingHandler shield = new ExceptionShieldingHandler(log);
@@ -64,7 +81,8 @@ Main {
                     case "4" -> searchFlow(sc, service, shield);
                     case "5" -> printCategoryTreeFlow(service, shield);
                     case "6" -> iterateItemsFlow(service, shield);
-                    case "7" -> exportJsonFlow(shield);
+                    case "7" -> exportJsonFlow(exporter, shield);
+                    case "8" -> importFileFlow(sc, service, shield);
                     case "0" -> {
                         running = false;
                         System.out.println("Bye!");
@@ -93,6 +111,7 @@ Main {
         System.out.println("5) Show categories tree");
         System.out.println("6) Iterate items");
         System.out.println("7) Export catalog to JSON");
+        System.out.println("8) Import items from CSV/JSON file");
         System.out.println("0) Exit");
     }
 
@@ -163,22 +182,30 @@ Main {
     }
 
     /**
-     * Lists all items using the service guarded by Exception Shielding.
+     * Lists all items page by page using the service guarded by Exception Shielding,
+     * so that memory stays bounded by the page size on large catalogs.
      *
      * @param service catalog service
      * @param shield  shielding handler
      */
     private static void listItemsFlow(CatalogService service, ExceptionShieldingHandler shield) {
         try {
-            List<Item> all = shield.guard(service::findAll, "Could not list items.");
-            if (all.isEmpty()) {
-                System.out.println("(no items)");
-                return;
-            }
-            System.out.println("Items:");
-            for (Item it : all) {
-                System.out.println("- " + it.id() + " | " + it.name() + " | " + it.category() + " | " + it.description());
-            }
+            String cursor = null;
+            boolean first = true;
+            do {
+                String from = cursor;
+                Page<Item> page = shield.guard(() -> service.findPage(LIST_PAGE_SIZE, from), "Could not list items.");
+                if (first && page.items().isEmpty()) {
+                    System.out.println("(no items)");
+                    return;
+                }
+                if (first) System.out.println("Items:");
+                first = false;
+                for (Item it : page.items()) {
+                    System.out.println("- " + it.id() + " | " + it.name() + " | " + it.category() + " | " + it.description());
+                }
+                cursor = page.nextCursor();
+            } while (cursor != null);
         } catch (ApplicationException ae) {
             System.err.println(ae.getMessage());
         }
@@ -232,7 +259,7 @@ Main {
             Map<String, CatalogCategory> categories = new LinkedHashMap<>();
 
             for (Item it : all) {
-                String catName = it.category().isEmpty() ? "(uncategorized)" : it.category();
+                String catName = FacetCounter.facetOf(it);
                 CatalogCategory cat = categories.computeIfAbsent(catName, CatalogCategory::new);
                 cat.addComponent(new CatalogItem(it));
             }
@@ -275,23 +302,63 @@ Main {
     }
 
     /**
-     * Exports the catalog to JSON through the Adapter and writes it to {@code data/items.json}.
+     * Exports the catalog to JSON in {@code data/items.json}.
+     * The file is left as it is when nothing was written since the previous export of the session;
+     * otherwise only items changed since then are re-serialized.
+     *
+     * @param exporter snapshot exporter targeting {@code data/items.json}
+     * @param shield   shielding handler
+     */
+    private static void exportJsonFlow(SnapshotJsonExporter exporter, ExceptionShieldingHandler shield) {
+        try {
+            boolean written = shield.guard(exporter::refresh, "Could not export JSON.");
+            System.out.println("Exported to data/items.json" + (written ? "" : " (unchanged since last export)"));
+        } catch (ApplicationException ae) {
+            System.err.println(ae.getMessage());
+        }
+    }
+
+    /**
+     * Imports a CSV or JSON file through the service and prints throughput and rejected rows.
      *
-     * @param shield shielding handler
+     * @param sc      console scanner
+     * @param service catalog service
+     * @param shield  shielding handler
      */
-    private static void exportJsonFlow(ExceptionShieldingHandler shield) {
+    private static void importFileFlow(Scanner sc, CatalogService service, ExceptionShieldingHandler shield) {
         try {
-            String json = shield.guard(() -> {
-                var adapter = new CsvRepositoryToJsonAdapter(
-                        new CsvItemRepository(Path.of("data", "items.csv"))
-                );
-                return adapter.toJson();
-            }, "Could not export JSON.");
-
-            SafeIO.writeUtf8(Path.of("data", "items.json"), json);
-            System.out.println("Exported to data/items.json");
+            System.out.print("File path (.csv or .json): ");
+            String file = InputSanitizer.sanitizeLine(sc.nextLine(), 260);
+
+            System.out.print("On duplicate id - overwrite, skip or fail [skip]: ");
+            String answer = sc.nextLine().trim().toUpperCase(Locale.ROOT);
+            ConflictPolicy policy;
+            try {
+                policy = answer.isEmpty() ? ConflictPolicy.SKIP : ConflictPolicy.valueOf(answer);
+            } catch (IllegalArgumentException e) {
+                throw new InputValidationException("Unknown conflict policy: " + answer.toLowerCase(Locale.ROOT));
+            }
+
+            ImportReport report = shield.guard(() -> service.importFile(Path.of(file), policy), "Could not import file.");
+            System.out.println("Imported " + report.imported() + ", skipped " + report.skipped()
+                    + ", rejected " + report.rejected().size() + " of " + report.rows() + " rows.");
+            System.out.printf(Locale.ROOT, "Time: %d ms (%.0f rows/s)%n",
+                    report.elapsed().toMillis(), report.rowsPerSecond());
+            List<BulkReport.RecordError> errors = report.rejected();
+            for (int i = 0; i < Math.min(IMPORT_ERRORS_SHOWN, errors.size()); i++) {
+                BulkReport.RecordError e = errors.get(i);
+                System.out.println("- row " + (e.index() + 1) + ": " + e.message());
+            }
+            if (errors.size() > IMPORT_ERRORS_SHOWN) {
+                System.out.println("... and " + (errors.size() - IMPORT_ERRORS_SHOWN) + " more");
+            }
+            log.info("Imported file " + file + ": " + report.imported() + " items");
+        } catch (InputValidationException ive) {
+            System.err.println("Validation error: " + ive.getMessage());
+            log.log(Level.WARNING, "Validation failed during import", ive);
         } catch (ApplicationException ae) {
             System.err.println(ae.getMessage());
+            log.log(Level.WARNING, "Application error during import", ae);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code binary} export format: a compact, length-prefixed encoding.
+ * <p>
+ * Layout: the magic bytes {@code IMGB} and a format version byte, then one record per item,
+ * and a terminating {@code 0} byte. A record is the tag byte {@code 1} followed by the id, name,
+ * category and description, each as an unsigned LEB128 varint byte length and the UTF-8 bytes.
+ * No escaping or quoting is needed, so encoding is a straight copy and decoding never scans for
+ * delimiters. The terminator lets the decoder tell a complete document from a truncated one.
+ * </p>
+ */
+public final class BinaryFormat implements ExportFormat {
+
+    private static final byte[] MAGIC = {'I', 'M', 'G', 'B'};
+    private static final int VERSION = 1;
+    private static final int TAG_END = 0;
+    private static final int TAG_ITEM = 1;
+
+    /** Largest accepted field length; protects the decoder against corrupt input. */
+    static final int MAX_FIELD_BYTES = 1 << 24;
+
+    /** Creates the format; instances are stateless. */
+    public BinaryFormat() {
+        // Required by ServiceLoader.
+    }
+
+    @Override
+    public String name() {
+        return "binary";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "imgb";
+    }
+
+    @Override
+    public Encoder encoder(OutputStream out) throws IOException {
+        BufferedOutputStream o = new BufferedOutputStream(out, JsonExport.BUFFER_SIZE);
+        o.write(MAGIC);
+        o.write(VERSION);
+        return new Encoder() {
+            @Override
+            public void write(Item item) throws IOException {
+                o.write(TAG_ITEM);
+                writeField(item.id(), o);
+                writeField(item.name(), o);
+                writeField(item.category(), o);
+                writeField(item.description(), o);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                o.write(TAG_END);
+                o.flush();
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(InputStream in) throws IOException {
+        DataInputStream din = new DataInputStream(new BufferedInputStream(in, JsonExport.BUFFER_SIZE));
+        byte[] head = new byte[MAGIC.length + 1];
+        try {
+            din.readFully(head);
+        } catch (EOFException e) {
+            throw new IOException("Not a binary export: header too short", e);
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) throw new IOException("Not a binary export: bad magic");
+        }
+        if (head[MAGIC.length] != VERSION) throw new IOException("Unsupported binary export version " + head[MAGIC.length]);
+
+        return new Decoder() {
+            private byte[] buf = new byte[256];
+            private boolean finished;
+
+            @Override
+            public Item next() throws IOException {
+                if (finished) return null;
+                try {
+                    int tag = din.readUnsignedByte();
+                    if (tag == TAG_END) {
+                        finished = true;
+                        return null;
+                    }
+                    if (tag != TAG_ITEM) throw new IOException("Corrupt binary export: unknown tag " + tag);
+                    return new Item(readField(), readField(), readField(), readField());
+                } catch (EOFException e) {
+                    throw new IOException("Truncated binary export", e);
+                } catch (IllegalArgumentException e) { // e.g. an empty id
+                    throw new IOException("Corrupt binary export: " + e.getMessage(), e);
+                }
+            }
+
+            private String readField() throws IOException {
+                int len = readVarint(din);
+                if (len < 0 || len > MAX_FIELD_BYTES) throw new IOException("Corrupt binary export: field of " + len + " bytes");
+                if (len > buf.length) buf = new byte[Math.max(len, buf.length * 2)];
+                din.readFully(buf, 0, len);
+                return new String(buf, 0, len, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    private static void writeField(String s, OutputStream out) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        int v = b.length;
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+        out.write(b);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("Corrupt binary export: varint too long");
+    }
+}
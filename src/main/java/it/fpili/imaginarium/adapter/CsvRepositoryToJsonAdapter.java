@@ -1,9 +1,13 @@
 package it.fpili.imaginarium.adapter;
 
 import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.IoOperationException;
 import it.fpili.imaginarium.model.Item;
 import it.fpili.imaginarium.persistence.Repository;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,6 +20,7 @@ import java.util.Objects;
  * </p>
  * <p>
  * Note: JSON is built manually with basic string escaping; no external JSON libraries are used.
+ * The document is streamed by {@link #writeTo(Writer)}; {@link #toJson()} collects the same output.
  * </p>
  */
 public final class CsvRepositoryToJsonAdapter implements JsonExport {
@@ -42,36 +47,82 @@ public final class CsvRepositoryToJsonAdapter implements JsonExport {
      */
     @Override
     public String toJson() throws ApplicationException {
-        List<Item> items = repo.findAll();
+        StringWriter sw = new StringWriter();
+        writeTo(sw);
+        return sw.toString();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\"data\":[");
-        for (int i = 0; i < items.size(); i++) {
-            Item it = items.get(i);
-            sb.append("{")
-                    .append("\"id\":\"").append(esc(it.id())).append("\",")
-                    .append("\"name\":\"").append(esc(it.name())).append("\",")
-                    .append("\"category\":\"").append(esc(it.category())).append("\",")
-                    .append("\"description\":\"").append(esc(it.description())).append("\"")
-                    .append("}");
-            if (i < items.size() - 1) sb.append(",");
+    /**
+     * Streams the same document as {@link #toJson()} to {@code out}, item by item, then flushes it.
+     * Memory use does not depend on the catalog size beyond the repository snapshot, and output
+     * starts with the first item. Each item is written in several small pieces straight to
+     * {@code out}, which adds no buffer of its own: pass a buffered or in-memory writer (the
+     * byte-oriented {@code writeTo} variants already do).
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items fails
+     * @throws IoOperationException if writing fails
+     */
+    @Override
+    public void writeTo(Writer out) throws ApplicationException {
+        List<Item> items = repo.findAll();
+        try {
+            out.write("{\"data\":[");
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) out.write(',');
+                writeItem(items.get(i), out);
+            }
+            out.write("]}");
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write JSON export", e);
         }
-        sb.append("]}");
-        return sb.toString();
     }
 
     /**
-     * Minimal JSON string escaper for a small subset of characters.
-     * Keeps the implementation simple and adequate for this project.
+     * Writes the JSON object of one item, exactly as it appears in the exported array.
      *
-     * @param s input string (may be {@code null})
-     * @return escaped string suitable for inclusion in JSON string literals
+     * @param it  item to serialize
+     * @param out destination
+     * @throws IOException if writing fails
      */
-    private static String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r");
+    static void writeItem(Item it, Writer out) throws IOException {
+        out.write("{\"id\":\"");
+        esc(it.id(), out);
+        out.write("\",\"name\":\"");
+        esc(it.name(), out);
+        out.write("\",\"category\":\"");
+        esc(it.category(), out);
+        out.write("\",\"description\":\"");
+        esc(it.description(), out);
+        out.write("\"}");
+    }
+
+    /**
+     * Minimal JSON string escaper for a small subset of characters
+     * (backslash, double quote, line feed and carriage return).
+     * Scans {@code s} once and copies the runs between escaped characters in bulk.
+     *
+     * @param s   input string (may be {@code null}, written as empty)
+     * @param out destination
+     * @throws IOException if writing fails
+     */
+    static void esc(String s, Writer out) throws IOException {
+        if (s == null) return;
+        int run = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String rep = switch (s.charAt(i)) {
+                case '\\' -> "\\\\";
+                case '"' -> "\\\"";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (rep == null) continue;
+            if (i > run) out.write(s, run, i - run);
+            out.write(rep);
+            run = i + 1;
+        }
+        if (s.length() > run) out.write(s, run, s.length() - run);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+/**
+ * Service-provider interface for catalog export formats, selected by name.
+ * <p>
+ * A format supplies a streaming {@link Encoder}, which writes items one at a time, and the
+ * matching {@link Decoder}, which reads them back one at a time; neither holds the whole
+ * document in memory. Formats are discovered with {@link ServiceLoader}: an implementation
+ * needs a public no-argument constructor and a line in
+ * {@code META-INF/services/it.fpili.imaginarium.adapter.ExportFormat}. The built-in formats are
+ * {@link JsonFormat json}, {@link NdjsonFormat ndjson} and {@link BinaryFormat binary}.
+ * </p>
+ * <p>
+ * Encoders and decoders never close the underlying stream. Only the identifier, name, category
+ * and description of an item are exported.
+ * </p>
+ */
+public interface ExportFormat {
+
+    /**
+     * Streaming writer of one export document.
+     */
+    interface Encoder {
+
+        /**
+         * Appends one item to the document.
+         *
+         * @param item item to write
+         * @throws IOException if writing fails
+         */
+        void write(Item item) throws IOException;
+
+        /**
+         * Completes the document and flushes it; the encoder must not be used afterwards.
+         *
+         * @throws IOException if writing fails
+         */
+        void finish() throws IOException;
+    }
+
+    /**
+     * Streaming reader of one export document.
+     */
+    interface Decoder {
+
+        /**
+         * Returns the next item.
+         *
+         * @return the item, or {@code null} after the last one
+         * @throws IOException if reading fails or the document is malformed
+         */
+        Item next() throws IOException;
+    }
+
+    /**
+     * Returns the name under which the format is selected.
+     *
+     * @return lower-case name, unique among the installed formats
+     */
+    String name();
+
+    /**
+     * Returns the file extension conventionally used for this format.
+     *
+     * @return extension without the leading dot
+     */
+    String fileExtension();
+
+    /**
+     * Starts a document on {@code out}; the header, if any, may be written immediately.
+     *
+     * @param out destination (not closed)
+     * @return encoder for the document
+     * @throws IOException if writing fails
+     */
+    Encoder encoder(OutputStream out) throws IOException;
+
+    /**
+     * Starts reading a document from {@code in}; the header, if any, is checked immediately.
+     *
+     * @param in source (not closed)
+     * @return decoder for the document
+     * @throws IOException if reading fails or the header is invalid
+     */
+    Decoder decoder(InputStream in) throws IOException;
+
+    /**
+     * Encodes every item of {@code repo} to {@code out}, in repository order.
+     *
+     * @param repo source repository
+     * @param out  destination (not closed)
+     * @throws ApplicationException if fetching items fails
+     * @throws IoOperationException if writing fails
+     */
+    default void export(Repository<Item, String> repo, OutputStream out) throws ApplicationException {
+        List<Item> items = repo.findAll();
+        try {
+            Encoder enc = encoder(out);
+            for (Item it : items) enc.write(it);
+            enc.finish();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write " + name() + " export", e);
+        }
+    }
+
+    /**
+     * Returns the installed format called {@code name} (case-insensitive).
+     *
+     * @param name format name, e.g. {@code "ndjson"}
+     * @return the format
+     * @throws InputValidationException if no installed format has that name
+     */
+    static ExportFormat byName(String name) throws InputValidationException {
+        String key = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat f : ServiceLoader.load(ExportFormat.class)) {
+            if (f.name().equals(key)) return f;
+        }
+        throw new InputValidationException("Unknown export format: " + name + " (available: " + names() + ")");
+    }
+
+    /**
+     * Returns the names of the installed formats, in discovery order.
+     *
+     * @return format names
+     */
+    static List<String> names() {
+        List<String> out = new ArrayList<>();
+        for (ExportFormat f : ServiceLoader.load(ExportFormat.class)) out.add(f.name());
+        return out;
+    }
+}
@@ -0,0 +1,219 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.Repository;
+import it.fpili.imaginarium.util.CacheStats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link JsonExport} that keeps the serialized form of every item between exports.
+ * <p>
+ * Each item's JSON object is cached as UTF-8 bytes, keyed by id and tagged with the item's
+ * {@link Item#version() version}. An export walks the repository snapshot, reuses the bytes of
+ * items whose version is unchanged, re-encodes only the others, and writes the fragments
+ * straight to the output. Once the cache is warm, repeated exports of a slowly changing
+ * catalog cost little more than writing the bytes. Fragments of deleted items are dropped.
+ * </p>
+ * <p>
+ * Items with version {@code 0} (repositories that do not stamp versions) are re-encoded every
+ * time, since their bytes cannot be proven current. The output is byte-for-byte the document
+ * of {@link CsvRepositoryToJsonAdapter}. Exports are serialized on a {@link ReentrantLock}.
+ * </p>
+ */
+public final class IncrementalJsonExporter implements JsonExport {
+
+    private static final byte[] OPEN = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMA = {','};
+    private static final byte[] CLOSE = "]}".getBytes(StandardCharsets.UTF_8);
+
+    /** Serialized item, the version it was encoded from and the last export that used it. */
+    private static final class Fragment {
+        long version;
+        byte[] bytes;
+        long seen;
+
+        Fragment(long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+
+    private final Repository<Item, String> repo;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringWriter scratch = new StringWriter(256);
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    private long exports;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an exporter over {@code repo}; the cache fills on the first export.
+     *
+     * @param repo item repository, ideally one stamping versions (must not be {@code null})
+     */
+    public IncrementalJsonExporter(Repository<Item, String> repo) {
+        this.repo = Objects.requireNonNull(repo, "repo");
+    }
+
+    /**
+     * Returns the whole document as a string.
+     *
+     * @return JSON document
+     * @throws ApplicationException if fetching items fails
+     */
+    @Override
+    public String toJson() throws ApplicationException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the document to {@code out}, decoding the cached UTF-8 fragments.
+     * Prefer {@link #writeTo(OutputStream)}, which copies them as they are.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items fails
+     * @throws IoOperationException if writing fails
+     */
+    @Override
+    public void writeTo(Writer out) throws ApplicationException {
+        try {
+            export(bytes -> out.write(new String(bytes, StandardCharsets.UTF_8)));
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write JSON export", e);
+        }
+    }
+
+    /**
+     * Writes the document to {@code out}, re-encoding only the items changed since the previous export.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items fails
+     * @throws IoOperationException if writing fails
+     */
+    @Override
+    public void writeTo(OutputStream out) throws ApplicationException {
+        try {
+            byte[] buf = new byte[BUFFER_SIZE];
+            int[] len = {0};
+            export(bytes -> {
+                if (len[0] + bytes.length > buf.length) {
+                    out.write(buf, 0, len[0]);
+                    len[0] = 0;
+                }
+                if (bytes.length > buf.length) {
+                    out.write(bytes);
+                } else {
+                    System.arraycopy(bytes, 0, buf, len[0], bytes.length);
+                    len[0] += bytes.length;
+                }
+            });
+            out.write(buf, 0, len[0]);
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write JSON export", e);
+        }
+    }
+
+    /**
+     * Writes the document to {@code out}.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items or writing fails
+     */
+    @Override
+    public void writeTo(WritableByteChannel out) throws ApplicationException {
+        writeTo(Channels.newOutputStream(out));
+    }
+
+    /** Receives the document as complete UTF-8 pieces. */
+    @FunctionalInterface
+    private interface Sink {
+        void write(byte[] bytes) throws IOException;
+    }
+
+    /** Walks the snapshot, refreshing stale fragments, and passes the document to {@code sink}. */
+    private void export(Sink sink) throws ApplicationException, IOException {
+        List<Item> items = repo.findAll();
+        lock.lock();
+        try {
+            long epoch = ++exports;
+            sink.write(OPEN);
+            for (int i = 0; i < items.size(); i++) {
+                Item it = items.get(i);
+                Fragment f = fragments.get(it.id());
+                if (f == null) {
+                    misses++;
+                    f = new Fragment(it.version(), encode(it));
+                    fragments.put(it.id(), f);
+                } else if (f.version != it.version() || it.version() == 0) {
+                    misses++;
+                    f.version = it.version();
+                    f.bytes = encode(it);
+                } else {
+                    hits++;
+                }
+                f.seen = epoch;
+                if (i > 0) sink.write(COMMA);
+                sink.write(f.bytes);
+            }
+            sink.write(CLOSE);
+            if (fragments.size() > items.size()) { // some items were deleted since the last export
+                int before = fragments.size();
+                fragments.values().removeIf(f -> f.seen != epoch);
+                evictions += before - fragments.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns cumulative cache counters: hits are reused fragments, misses re-encoded items,
+     * evictions fragments dropped for deleted items.
+     *
+     * @return counters and the number of cached fragments
+     */
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits, misses, evictions, fragments.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drops every cached fragment, forcing a full re-encode on the next export (counters are kept). */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            fragments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] encode(Item it) throws IOException {
+        scratch.getBuffer().setLength(0);
+        CsvRepositoryToJsonAdapter.writeItem(it, scratch);
+        return scratch.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
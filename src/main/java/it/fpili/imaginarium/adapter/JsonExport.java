@@ -1,13 +1,81 @@
 package it.fpili.imaginarium.adapter;
 
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Target interface expected by modern clients wanting JSON export.
+ * <p>
+ * Besides {@link #toJson()}, the document can be streamed to a {@link Writer},
+ * {@link OutputStream} or {@link WritableByteChannel}. The byte-oriented variants encode
+ * UTF-8 through a {@link #BUFFER_SIZE} buffered writer, the only buffer between the
+ * serializer and the target, flush it and leave the target open. The default
+ * {@link #writeTo(Writer)} writes {@link #toJson()}; implementations should override it to
+ * produce the output incrementally.
+ * </p>
+ * <p>
+ * This interface is fixed to the {@code {"data":[...]}} document; see {@link ExportFormat}
+ * for exporting in other formats selected by name.
+ * </p>
  */
 public interface JsonExport {
+
+    /**
+     * Buffer size used by streaming exports and imports: a count of chars for character
+     * buffers (such as the writer of the byte-oriented variants) and of bytes for byte buffers.
+     */
+    int BUFFER_SIZE = 64 * 1024;
+
     /**
      * Returns the JSON representation of the adapted data.
      * @return JSON string
-     * @throws Exception if export fails
+     * @throws ApplicationException if export fails
+     */
+    String toJson() throws ApplicationException;
+
+    /**
+     * Writes the JSON representation to {@code out}, then flushes it (the writer is not closed).
+     *
+     * @param out destination
+     * @throws ApplicationException if export fails
+     * @throws IoOperationException if writing fails
+     */
+    default void writeTo(Writer out) throws ApplicationException {
+        String json = toJson();
+        try {
+            out.write(json);
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write JSON export", e);
+        }
+    }
+
+    /**
+     * Writes the JSON representation to {@code out} as UTF-8 (the stream is not closed).
+     *
+     * @param out destination
+     * @throws ApplicationException if export or writing fails
+     */
+    default void writeTo(OutputStream out) throws ApplicationException {
+        writeTo(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes the JSON representation to {@code out} as UTF-8 (the channel is not closed).
+     *
+     * @param out destination
+     * @throws ApplicationException if export or writing fails
      */
-    String toJson() throws Exception;
-}
\ No newline at end of file
+    default void writeTo(WritableByteChannel out) throws ApplicationException {
+        writeTo(new BufferedWriter(Channels.newWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+}
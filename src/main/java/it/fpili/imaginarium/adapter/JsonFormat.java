@@ -0,0 +1,90 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * The {@code json} export format: the {@code {"data":[{...},{...}]}} document produced by
+ * {@link CsvRepositoryToJsonAdapter}, byte for byte.
+ * <p>
+ * The decoder reads it back with {@link JsonRecordReader}, one object at a time.
+ * </p>
+ */
+public final class JsonFormat implements ExportFormat {
+
+    /** Creates the format; instances are stateless. */
+    public JsonFormat() {
+        // Required by ServiceLoader.
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "json";
+    }
+
+    @Override
+    public Encoder encoder(OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), JsonExport.BUFFER_SIZE);
+        w.write("{\"data\":[");
+        return new Encoder() {
+            private boolean first = true;
+
+            @Override
+            public void write(Item item) throws IOException {
+                if (!first) w.write(',');
+                first = false;
+                CsvRepositoryToJsonAdapter.writeItem(item, w);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                w.write("]}");
+                w.flush();
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(InputStream in) {
+        JsonRecordReader reader = new JsonRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), JsonExport.BUFFER_SIZE));
+        return () -> {
+            Map<String, String> rec = reader.next();
+            return rec == null ? null : toItem(rec);
+        };
+    }
+
+    /**
+     * Builds an item from a record read by {@link JsonRecordReader}, matching member names like the
+     * importer does ({@link JsonRecordReader#member(Map, String)}).
+     *
+     * @param rec member name to value
+     * @return the item
+     * @throws IOException if the record has no usable {@code id} or a field the item cannot hold
+     */
+    static Item toItem(Map<String, String> rec) throws IOException {
+        String id = JsonRecordReader.member(rec, "id");
+        if (id == null || id.isBlank()) throw new IOException("Record without id: " + rec);
+        try {
+            return new Item(id, JsonRecordReader.member(rec, "name"), JsonRecordReader.member(rec, "category"),
+                    JsonRecordReader.member(rec, "description"));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid record " + rec + ": " + e.getMessage(), e);
+        }
+    }
+}
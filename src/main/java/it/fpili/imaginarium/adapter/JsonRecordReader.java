@@ -0,0 +1,342 @@
+package it.fpili.imaginarium.adapter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Minimal streaming (pull) reader for JSON documents holding a list of flat records.
+ * <p>
+ * Accepts either a top-level array of objects ({@code [{...},{...}]}) or the export format
+ * of {@link CsvRepositoryToJsonAdapter} ({@code {"data":[{...}]}}). Records are returned one at a
+ * time by {@link #next()}, so the document is never held in memory. For each object, members
+ * with a string, number, boolean or {@code null} value are returned as text ({@code null} as
+ * {@code null}); nested objects and arrays are skipped. Other members of a
+ * {@code {"data":[...]}} document are skipped too, but after the record array the document must
+ * close and nothing but whitespace may follow.
+ * </p>
+ * <p>
+ * {@link #objectSequence(Reader)} reads a whitespace-separated sequence of top-level objects
+ * instead, which covers newline-delimited JSON (one object per line).
+ * </p>
+ * <p>
+ * Like the rest of the project, no external JSON library is used. Syntax errors are reported as
+ * {@link IOException}s carrying the character offset.
+ * </p>
+ */
+public final class JsonRecordReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final boolean sequence;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int len;
+    private long offset;
+    private boolean started;
+    private boolean wrapped;
+    private boolean finished;
+    private final StringBuilder sb = new StringBuilder(64);
+
+    /**
+     * Creates a reader; the caller remains responsible for supplying a buffered or file-backed reader.
+     *
+     * @param in character source (must not be {@code null})
+     */
+    public JsonRecordReader(Reader in) {
+        this(in, false);
+    }
+
+    private JsonRecordReader(Reader in, boolean sequence) {
+        this.in = Objects.requireNonNull(in, "in");
+        this.sequence = sequence;
+    }
+
+    /**
+     * Creates a reader for a sequence of top-level objects separated by whitespace, such as
+     * newline-delimited JSON. An empty input is an empty sequence.
+     *
+     * @param in character source (must not be {@code null})
+     * @return the reader
+     */
+    public static JsonRecordReader objectSequence(Reader in) {
+        return new JsonRecordReader(in, true);
+    }
+
+    /**
+     * Returns the next record.
+     *
+     * @return member name to text value, in document order, or {@code null} after the last record
+     * @throws IOException if reading fails or the document is malformed
+     */
+    public Map<String, String> next() throws IOException {
+        if (finished) return null;
+        if (sequence) {
+            int c = skipWs();
+            if (c == EOF) {
+                finished = true;
+                return null;
+            }
+            expect(c, '{');
+            return readObject();
+        }
+        if (!started) {
+            started = true;
+            openArray();
+        } else {
+            int c = skipWs();
+            if (c == ']') {
+                closeDocument();
+                return null;
+            }
+            expect(c, ',');
+        }
+        int c = skipWs();
+        if (c == ']') {
+            closeDocument();
+            return null;
+        }
+        expect(c, '{');
+        return readObject();
+    }
+
+    /**
+     * Looks up a member of a record returned by {@link #next()}, ignoring the case of its name when
+     * there is no exact match (e.g. {@code "ID"} for {@code "id"}).
+     *
+     * @param record record returned by {@link #next()}
+     * @param name   member name
+     * @return the member's text value, or {@code null} if it is missing or {@code null}
+     */
+    public static String member(Map<String, String> record, String name) {
+        String v = record.get(name);
+        if (v != null || record.containsKey(name)) return v;
+        for (Map.Entry<String, String> e : record.entrySet()) {
+            if (e.getKey().equalsIgnoreCase(name)) return e.getValue();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /** Positions the reader inside the record array. */
+    private void openArray() throws IOException {
+        int c = skipWs();
+        if (c == '[') return;
+        expect(c, '{');
+        wrapped = true;
+        while (true) {
+            c = skipWs();
+            if (c == '}') throw error("No \"data\" array found");
+            expect(c, '"');
+            String key = readString();
+            expect(skipWs(), ':');
+            if (key.equals("data")) {
+                expect(skipWs(), '[');
+                return;
+            }
+            skipValue(skipWs());
+            c = skipWs();
+            if (c == '}') throw error("No \"data\" array found");
+            expect(c, ',');
+        }
+    }
+
+    /**
+     * Checks the rest of the document once the record array has closed: the members after it and the
+     * closing brace of a {@code {"data":[...]}} document, then the end of input.
+     */
+    private void closeDocument() throws IOException {
+        finished = true;
+        if (wrapped) {
+            int c = skipWs();
+            while (c != '}') {
+                expect(c, ',');
+                expect(skipWs(), '"');
+                readString();
+                expect(skipWs(), ':');
+                skipValue(skipWs());
+                c = skipWs();
+            }
+        }
+        if (skipWs() != EOF) throw error("Unexpected content after the document");
+    }
+
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> out = new LinkedHashMap<>(8);
+        int c = skipWs();
+        if (c == '}') return out;
+        while (true) {
+            expect(c, '"');
+            String key = readString();
+            expect(skipWs(), ':');
+            c = skipWs();
+            if (c == '"') {
+                out.put(key, readString());
+            } else if (c == '{' || c == '[') {
+                skipValue(c);
+            } else {
+                String literal = readLiteral(c);
+                out.put(key, literal.equals("null") ? null : literal);
+            }
+            c = skipWs();
+            if (c == '}') return out;
+            expect(c, ',');
+            c = skipWs();
+        }
+    }
+
+    /** Reads a string body; the opening quote has been consumed. */
+    private String readString() throws IOException {
+        sb.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == EOF) throw error("Unterminated string");
+            if (c == '"') return sb.toString();
+            if (c < 0x20) throw error("Control character in string");
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+            int e = read();
+            switch (e) {
+                case '"', '\\', '/' -> sb.append((char) e);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    int v = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int h = Character.digit(read(), 16);
+                        if (h < 0) throw error("Invalid \\u escape");
+                        v = (v << 4) | h;
+                    }
+                    sb.append((char) v);
+                }
+                default -> throw error("Invalid escape");
+            }
+        }
+    }
+
+    /** Reads a number, {@code true}, {@code false} or {@code null} starting with {@code first}. */
+    private String readLiteral(int first) throws IOException {
+        sb.setLength(0);
+        int c = first;
+        while (c != EOF && (Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.')) {
+            sb.append((char) c);
+            c = read();
+        }
+        if (c != EOF) pos--; // push back the delimiter
+        String s = sb.toString();
+        if (s.isEmpty()) throw error("Unexpected character");
+        if (!s.equals("true") && !s.equals("false") && !s.equals("null") && !isNumber(s)) {
+            throw error("Invalid literal '" + s + "'");
+        }
+        return s;
+    }
+
+    /**
+     * Checks the JSON number grammar, {@code -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?}, which
+     * unlike {@link Double#parseDouble(String)} rejects {@code NaN}, {@code Infinity}, {@code 1f},
+     * {@code .5}, {@code 01} and the like.
+     */
+    static boolean isNumber(String s) {
+        int n = s.length();
+        int i = 0;
+        if (i < n && s.charAt(i) == '-') i++;
+        if (i < n && s.charAt(i) == '0') i++;
+        else if (i < n && s.charAt(i) >= '1' && s.charAt(i) <= '9') i = digits(s, i);
+        else return false;
+        if (i < n && s.charAt(i) == '.') {
+            int start = ++i;
+            i = digits(s, i);
+            if (i == start) return false;
+        }
+        if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+            int start = i;
+            i = digits(s, i);
+            if (i == start) return false;
+        }
+        return i == n;
+    }
+
+    private static int digits(String s, int i) {
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') i++;
+        return i;
+    }
+
+    /** Skips one value whose first character has been consumed. */
+    private void skipValue(int first) throws IOException {
+        switch (first) {
+            case '"' -> readString();
+            case '{' -> {
+                int c = skipWs();
+                if (c == '}') return;
+                while (true) {
+                    expect(c, '"');
+                    readString();
+                    expect(skipWs(), ':');
+                    skipValue(skipWs());
+                    c = skipWs();
+                    if (c == '}') return;
+                    expect(c, ',');
+                    c = skipWs();
+                }
+            }
+            case '[' -> {
+                int c = skipWs();
+                if (c == ']') return;
+                while (true) {
+                    skipValue(c);
+                    c = skipWs();
+                    if (c == ']') return;
+                    expect(c, ',');
+                    c = skipWs();
+                }
+            }
+            default -> readLiteral(first);
+        }
+    }
+
+    private int skipWs() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private void expect(int actual, char expected) throws IOException {
+        if (actual != expected) {
+            throw error("Expected '" + expected + "' but found " + (actual == EOF ? "end of input" : "'" + (char) actual + "'"));
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == len) {
+            offset += len;
+            len = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (len <= 0) {
+                len = 0;
+                return EOF;
+            }
+        }
+        return buf[pos++];
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed JSON at offset " + (offset + pos) + ": " + message);
+    }
+}
@@ -0,0 +1,67 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * The {@code ndjson} export format: newline-delimited JSON, one item object per line, with
+ * no enclosing document.
+ * <p>
+ * Objects are the same as in the {@link JsonFormat json} format. Every line is a complete
+ * record, so the output can be appended to, split or processed line by line with standard tools.
+ * </p>
+ */
+public final class NdjsonFormat implements ExportFormat {
+
+    /** Creates the format; instances are stateless. */
+    public NdjsonFormat() {
+        // Required by ServiceLoader.
+    }
+
+    @Override
+    public String name() {
+        return "ndjson";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "ndjson";
+    }
+
+    @Override
+    public Encoder encoder(OutputStream out) {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), JsonExport.BUFFER_SIZE);
+        return new Encoder() {
+            @Override
+            public void write(Item item) throws IOException {
+                CsvRepositoryToJsonAdapter.writeItem(item, w);
+                w.write('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                w.flush();
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(InputStream in) {
+        JsonRecordReader reader = JsonRecordReader.objectSequence(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), JsonExport.BUFFER_SIZE));
+        return () -> {
+            Map<String, String> rec = reader.next();
+            return rec == null ? null : JsonFormat.toItem(rec);
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.Repository;
+import it.fpili.imaginarium.util.AsyncTasks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * {@link JsonExport} that serializes the catalog on several threads.
+ * <p>
+ * The repository snapshot is split into chunks of {@code chunkSize} items. Each chunk is
+ * encoded on the executor (to text for a {@link Writer}, to UTF-8 bytes for a stream or
+ * channel), and the chunks are written to the output strictly in snapshot order, each
+ * chunk carrying the commas that precede its items. The
+ * output is therefore byte-for-byte the document of {@link CsvRepositoryToJsonAdapter}.
+ * At most {@code maxInFlight} chunks are encoded or waiting at once, which bounds memory
+ * and lets writing overlap with encoding. Snapshots of a single chunk are encoded on the
+ * calling thread.
+ * </p>
+ */
+public final class ParallelJsonExporter implements JsonExport {
+
+    /** Default number of items per chunk (about 0.5 MB of JSON for typical items). */
+    public static final int DEFAULT_CHUNK_SIZE = 4_096;
+
+    private static final byte[] OPEN = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final Repository<Item, String> repo;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    /**
+     * Creates an exporter on the common fork-join pool, sized to the available cores.
+     *
+     * @param repo item repository (must not be {@code null})
+     */
+    public ParallelJsonExporter(Repository<Item, String> repo) {
+        this(repo, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an exporter.
+     *
+     * @param repo        item repository (must not be {@code null})
+     * @param executor    executor encoding the chunks (must not be {@code null})
+     * @param chunkSize   items per chunk (positive)
+     * @param maxInFlight maximum number of chunks pending at once (positive)
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public ParallelJsonExporter(Repository<Item, String> repo, Executor executor, int chunkSize, int maxInFlight) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive");
+        this.repo = Objects.requireNonNull(repo, "repo");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Returns the whole document as a string.
+     *
+     * @return JSON document
+     * @throws ApplicationException if fetching items fails
+     */
+    @Override
+    public String toJson() throws ApplicationException {
+        StringWriter out = new StringWriter();
+        writeTo(out);
+        return out.toString();
+    }
+
+    /**
+     * Writes the document to {@code out}, encoding chunks in parallel and writing their text in order.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items fails
+     * @throws IoOperationException if encoding or writing fails
+     */
+    @Override
+    public void writeTo(Writer out) throws ApplicationException {
+        try {
+            export(chunk -> chunk, out::write, "{\"data\":[", "]}");
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write JSON export", e);
+        }
+    }
+
+    /**
+     * Writes the document to {@code out}, encoding chunks to UTF-8 in parallel and writing them in order.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items fails
+     * @throws IoOperationException if encoding or writing fails
+     */
+    @Override
+    public void writeTo(OutputStream out) throws ApplicationException {
+        try {
+            export(chunk -> chunk.getBytes(StandardCharsets.UTF_8), out::write, OPEN, CLOSE);
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write JSON export", e);
+        }
+    }
+
+    /**
+     * Writes the document to {@code out}.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if fetching items, encoding or writing fails
+     */
+    @Override
+    public void writeTo(WritableByteChannel out) throws ApplicationException {
+        writeTo(Channels.newOutputStream(out));
+    }
+
+    /** Receives the pieces of the document in order. */
+    @FunctionalInterface
+    private interface Sink<C> {
+        void write(C piece) throws IOException;
+    }
+
+    /**
+     * Encodes the snapshot chunk by chunk and passes the pieces to {@code sink} in snapshot order.
+     *
+     * @param convert turns the text of a chunk into the piece type of the sink; runs on the encoding thread
+     * @param sink    destination of the pieces
+     * @param open    piece written before the first chunk
+     * @param close   piece written after the last chunk
+     * @param <C>     piece type ({@code String} or UTF-8 {@code byte[]})
+     */
+    private <C> void export(Function<String, C> convert, Sink<C> sink, C open, C close)
+            throws ApplicationException, IOException {
+        List<Item> items = repo.findAll();
+        int n = items.size();
+        Deque<CompletableFuture<C>> pending = new ArrayDeque<>();
+        try {
+            sink.write(open);
+            if (n <= chunkSize) {
+                sink.write(convert.apply(encode(items, 0, n)));
+            } else {
+                for (int from = 0; from < n; from += chunkSize) {
+                    int start = from;
+                    int end = Math.min(n, from + chunkSize);
+                    pending.add(AsyncTasks.submit(() -> convert.apply(encode(items, start, end)), executor));
+                    if (pending.size() >= maxInFlight) sink.write(pending.removeFirst().join());
+                }
+                while (!pending.isEmpty()) sink.write(pending.removeFirst().join());
+            }
+            sink.write(close);
+        } catch (CompletionException e) {
+            throw new IoOperationException("Failed to encode JSON export", e.getCause());
+        } finally {
+            for (CompletableFuture<?> f : pending) f.cancel(false);
+        }
+    }
+
+    /** Encodes items {@code [from, to)}, each preceded by a comma unless it is the first of the snapshot. */
+    private static String encode(List<Item> items, int from, int to) {
+        StringBuilder sb = new StringBuilder(Math.max(32, (to - from) * 128));
+        Writer w = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                sb.append(cbuf, off, len);
+            }
+
+            @Override
+            public void write(String str, int off, int len) {
+                sb.append(str, off, off + len);
+            }
+
+            @Override
+            public void write(int c) {
+                sb.append((char) c);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try {
+            for (int i = from; i < to; i++) {
+                if (i > 0) w.write(',');
+                CsvRepositoryToJsonAdapter.writeItem(items.get(i), w);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+}
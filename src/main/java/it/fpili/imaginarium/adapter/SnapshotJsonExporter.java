@@ -0,0 +1,233 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.util.CacheStats;
+import it.fpili.imaginarium.util.SafeIO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link JsonExport} that keeps the serialized document in a snapshot file, tagged with the
+ * repository write count it was produced from.
+ * <p>
+ * The write count is read from a supplier that changes on every write to the repository
+ * (deletions included), such as {@link it.fpili.imaginarium.service.CatalogService#writeCount()}.
+ * {@link #refresh()} regenerates the snapshot from the source export only when that count differs from the tag,
+ * so the cache is invalidated by writes alone; repeated exports of an unchanged catalog do not
+ * read the repository or encode anything. The snapshot is written atomically through
+ * {@link SafeIO#writeBytes(Path, SafeIO.StreamTask)}, and its size and modification time are
+ * recorded, so a file changed or removed behind the exporter's back is regenerated too.
+ * </p>
+ * <p>
+ * Every {@code writeTo} variant serves the snapshot file: {@link #writeTo(WritableByteChannel)}
+ * uses {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which lets the kernel copy
+ * the bytes to a file or socket channel without passing them through the heap. Exports are
+ * serialized on a {@link ReentrantLock}, so a refresh never replaces the file mid-transfer.
+ * </p>
+ */
+public final class SnapshotJsonExporter implements JsonExport {
+
+    private final JsonExport source;
+    private final LongSupplier writeCount;
+    private final Path snapshot;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Write count the snapshot was produced from; {@code -1} when there is no valid snapshot. */
+    private long snapshotWrites = -1;
+    private long snapshotSize;
+    private FileTime snapshotTime;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an exporter; the snapshot is produced on the first export, even if the file already exists.
+     *
+     * @param source     export producing the document when the snapshot is stale (must not be {@code null})
+     * @param writeCount supplier of a number that changes on every repository write (must not be {@code null})
+     * @param snapshot   file holding the serialized document, e.g. the export target (must not be {@code null})
+     */
+    public SnapshotJsonExporter(JsonExport source, LongSupplier writeCount, Path snapshot) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.writeCount = Objects.requireNonNull(writeCount, "writeCount");
+        this.snapshot = Objects.requireNonNull(snapshot, "snapshot");
+    }
+
+    /**
+     * Returns the snapshot file.
+     *
+     * @return path of the serialized document
+     */
+    public Path snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Makes sure the snapshot file matches the current repository content, regenerating it if needed.
+     *
+     * @return {@code true} if the snapshot was rewritten, {@code false} if it was already current
+     * @throws ApplicationException if the source export fails
+     * @throws IoOperationException if the snapshot cannot be written
+     */
+    public boolean refresh() throws ApplicationException {
+        lock.lock();
+        try {
+            // Read the count first: a write racing with the export leaves an older tag, never a newer one.
+            long v = writeCount.getAsLong();
+            if (v == snapshotWrites && isIntact()) {
+                hits++;
+                return false;
+            }
+            misses++;
+            if (snapshotWrites >= 0) evictions++;
+            snapshotWrites = -1;
+            SafeIO.writeBytes(snapshot, source::writeTo);
+            try {
+                snapshotSize = Files.size(snapshot);
+                snapshotTime = Files.getLastModifiedTime(snapshot);
+            } catch (IOException e) {
+                throw new IoOperationException("Failed to read snapshot attributes: " + snapshot, e);
+            }
+            snapshotWrites = v;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the snapshot as a string, refreshing it first if needed.
+     *
+     * @return JSON document
+     * @throws ApplicationException if refreshing or reading the snapshot fails
+     */
+    @Override
+    public String toJson() throws ApplicationException {
+        lock.lock();
+        try {
+            refresh();
+            return Files.readString(snapshot, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to read snapshot: " + snapshot, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the snapshot to {@code out} as characters, refreshing it first if needed.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if refreshing the snapshot fails
+     * @throws IoOperationException if copying fails
+     */
+    @Override
+    public void writeTo(Writer out) throws ApplicationException {
+        lock.lock();
+        try {
+            refresh();
+            try (BufferedReader in = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+                in.transferTo(out);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to copy snapshot: " + snapshot, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the snapshot bytes to {@code out}, refreshing it first if needed.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if refreshing the snapshot fails
+     * @throws IoOperationException if copying fails
+     */
+    @Override
+    public void writeTo(OutputStream out) throws ApplicationException {
+        lock.lock();
+        try {
+            refresh();
+            Files.copy(snapshot, out);
+            out.flush();
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to copy snapshot: " + snapshot, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Transfers the snapshot to {@code out} with {@link FileChannel#transferTo}, refreshing it first if needed.
+     *
+     * @param out destination (not closed)
+     * @throws ApplicationException if refreshing the snapshot fails
+     * @throws IoOperationException if the transfer fails
+     */
+    @Override
+    public void writeTo(WritableByteChannel out) throws ApplicationException {
+        lock.lock();
+        try {
+            refresh();
+            try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                long size = in.size();
+                long pos = 0;
+                while (pos < size) pos += in.transferTo(pos, size - pos, out);
+            }
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to transfer snapshot: " + snapshot, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how often exports were served from the snapshot (hits) or had to regenerate it
+     * (misses); evictions count snapshots discarded because of a write or an external change.
+     *
+     * @return an immutable statistics snapshot; size is {@code 1} while a valid snapshot exists
+     */
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits, misses, evictions, snapshotWrites >= 0 ? 1 : 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Forgets the snapshot, so the next export regenerates it (counters are kept). */
+    public void invalidate() {
+        lock.lock();
+        try {
+            snapshotWrites = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Checks that the snapshot file still has the size and modification time recorded when it was written. */
+    private boolean isIntact() {
+        try {
+            return Files.size(snapshot) == snapshotSize && Files.getLastModifiedTime(snapshot).equals(snapshotTime);
+        } catch (IOException e) {
+            return false; // missing or unreadable: regenerate
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package it.fpili.imaginarium.factory;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.util.Objects;
+
+/**
+ * Reusable Concrete Creator that decodes CSV lines straight into {@link Item}s.
+ * <p>
+ * Unlike {@link CsvItemCreator}, which wraps a pre-split {@code String[]}, one decoder
+ * instance serves a whole load: {@link #read(String)} scans a line and keeps the slices of
+ * its fields, and {@link #build()} turns them into an {@link Item}. Unquoted fields
+ * become a single trimmed {@code substring} of the line; quoted ones are unescaped into an
+ * internal buffer. No per-row array, list or creator is allocated, and since the slices are
+ * already trimmed the {@code Item} constructor's {@code trim()} returns them unchanged.
+ * </p>
+ * <p>
+ * Quoting follows the repository's CSV rules: {@code "} toggles quoting anywhere in a field and
+ * {@code ""} inside quotes is a literal quote. The first four columns (id, name, category,
+ * description) are required; the optional fifth and sixth hold the item's version and
+ * modification time, and anything after them is ignored. Instances are not thread-safe.
+ * </p>
+ */
+public final class CsvItemDecoder extends ItemCreator {
+
+    private static final int COLUMNS = 6;
+    private static final int REQUIRED = 4;
+
+    private final String[] fields = new String[COLUMNS];
+    private final StringBuilder buf = new StringBuilder(64);
+    private int found;
+
+    /**
+     * Decodes the fields of {@code line} (up to six).
+     *
+     * @param line one CSV line without terminator
+     * @return {@code true} if the line has at least four fields, {@code false} if it is malformed
+     */
+    public boolean read(String line) {
+        int n = line.length();
+        int start = 0;
+        found = 0;
+        while (found < COLUMNS && start <= n) {
+            int end = start;
+            while (end < n && line.charAt(end) != ',' && line.charAt(end) != '"') end++;
+            if (end < n && line.charAt(end) == '"') {
+                end = unquote(line, start);
+                fields[found++] = trimmed(buf);
+            } else {
+                fields[found++] = trimmed(line, start, end);
+            }
+            start = end + 1;
+        }
+        return found >= REQUIRED;
+    }
+
+    /**
+     * Returns the number of fields decoded by the last {@link #read(String)} (at most six).
+     *
+     * @return decoded field count
+     */
+    public int columns() {
+        return found;
+    }
+
+    /**
+     * Returns a trimmed field decoded by the last {@link #read(String)}.
+     *
+     * @param col zero-based column ({@code 0..5}: id, name, category, description, version, modified)
+     * @return the field, or {@code null} if the line had fewer columns
+     * @throws IndexOutOfBoundsException if {@code col} is not in {@code 0..5}
+     */
+    public String field(int col) {
+        Objects.checkIndex(col, COLUMNS);
+        return col < found ? fields[col] : null;
+    }
+
+    /**
+     * Creates the {@link Item} from the fields of the last successful {@link #read(String)}.
+     *
+     * @return a new item
+     * @throws IllegalStateException    if the last line read was malformed (or none was read)
+     * @throws IllegalArgumentException if the id field is empty or the version or modification time is not a number
+     */
+    @Override
+    protected Item createItem() {
+        if (found < REQUIRED) throw new IllegalStateException("No line decoded");
+        return new Item(fields[0], fields[1], fields[2], fields[3], number(4), number(5));
+    }
+
+    /** Parses an optional numeric column; absent or empty means {@code 0}. */
+    private long number(int col) {
+        String s = col < found ? fields[col] : "";
+        return s.isEmpty() ? 0 : Long.parseLong(s);
+    }
+
+    /**
+     * Unescapes the field starting at {@code start} into {@link #buf}.
+     *
+     * @return index of the comma ending the field, or the line length
+     */
+    private int unquote(String line, int start) {
+        buf.setLength(0);
+        boolean inQ = false;
+        int i = start;
+        for (; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQ) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        buf.append('"');
+                        i++;
+                    } else {
+                        inQ = false;
+                    }
+                } else {
+                    buf.append(c);
+                }
+            } else if (c == '"') {
+                inQ = true;
+            } else if (c == ',') {
+                break;
+            } else {
+                buf.append(c);
+            }
+        }
+        return i;
+    }
+
+    private static String trimmed(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        return s.substring(from, to);
+    }
+
+    private static String trimmed(StringBuilder sb) {
+        int from = 0;
+        int to = sb.length();
+        while (from < to && sb.charAt(from) <= ' ') from++;
+        while (to > from && sb.charAt(to - 1) <= ' ') to--;
+        return sb.substring(from, to);
+    }
+}
@@ -1,5 +1,6 @@
 package it.fpili.imaginarium.model;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -9,12 +10,35 @@ import java.util.Objects;
  * and cannot be changed afterward. Equality and hash code are
  * based solely on the {@code id}, which is the unique identifier.
  * </p>
+ * <p>
+ * To keep large catalogs small, only the {@code id} is held as a {@link String}. Name,
+ * category and description are packed into a single {@code byte[]} (Latin-1 when every
+ * character fits, UTF-8 otherwise), encoded straight into that array. Compared with three
+ * separate strings this saves three object headers, three array headers and the padding
+ * of each, roughly halving the heap used per item. Each field is decoded at most once, on
+ * first access, and the string is kept for later calls; items whose text is never read,
+ * such as those only loaded and looked up by id, stay packed.
+ * </p>
+ * <p>
+ * Each item also carries a {@link #version() version} and a {@link #modifiedAt() modification
+ * time}, assigned by the repository when the item is saved; items built by callers start at
+ * version {@code 0}. Neither takes part in equality.
+ * </p>
  */
 public final class Item {
     private final String id;
-    private final String name;
-    private final String category;
-    private final String description;
+    /** Name, category and description bytes, back to back. */
+    private final byte[] fields;
+    private final int nameEnd;
+    private final int categoryEnd;
+    private final boolean latin1;
+    private final long version;
+    private final long modifiedAt;
+
+    /** Decoded fields, filled on first access (a racy fill is harmless: strings are immutable). */
+    private String name;
+    private String category;
+    private String description;
 
     /**
      * Constructs a new immutable {@link Item}.
@@ -23,28 +47,99 @@ public final class Item {
      * @param name        human-friendly display name (nullable, defaults to empty)
      * @param category    logical category label (nullable, defaults to empty)
      * @param description short description (nullable, defaults to empty)
-     * @throws IllegalArgumentException if {@code id} is empty after trimming
+     * @throws IllegalArgumentException if {@code id} is empty after trimming or a text field contains an unpaired surrogate
      * @throws NullPointerException     if {@code id} is {@code null}
      */
     public Item(String id, String name, String category, String description) {
+        this(id, name, category, description, 0, 0);
+    }
+
+    /**
+     * Constructs a new immutable {@link Item} with repository bookkeeping, e.g. when loading it back from storage.
+     *
+     * @param id          unique identifier (non-null, non-empty)
+     * @param name        human-friendly display name (nullable, defaults to empty)
+     * @param category    logical category label (nullable, defaults to empty)
+     * @param description short description (nullable, defaults to empty)
+     * @param version     repository version of the last save (non-negative, {@code 0} if never saved)
+     * @param modifiedAt  time of the last save in epoch milliseconds ({@code 0} if unknown)
+     * @throws IllegalArgumentException if {@code id} is empty after trimming, {@code version} is negative
+     *                                  or a text field contains an unpaired surrogate
+     * @throws NullPointerException     if {@code id} is {@code null}
+     */
+    public Item(String id, String name, String category, String description, long version, long modifiedAt) {
+        if (version < 0) throw new IllegalArgumentException("version cannot be negative");
+        this.version = version;
+        this.modifiedAt = modifiedAt;
         this.id = Objects.requireNonNull(id, "id").trim();
-        this.name = Objects.requireNonNullElse(name, "").trim();
-        this.category = Objects.requireNonNullElse(category, "").trim();
-        this.description = Objects.requireNonNullElse(description, "").trim();
         if (this.id.isEmpty()) throw new IllegalArgumentException("id cannot be empty");
+        String n = Objects.requireNonNullElse(name, "").trim();
+        String c = Objects.requireNonNullElse(category, "").trim();
+        String d = Objects.requireNonNullElse(description, "").trim();
+        this.latin1 = isLatin1(n) && isLatin1(c) && isLatin1(d);
+        this.nameEnd = encodedLength(n, "name");
+        this.categoryEnd = nameEnd + encodedLength(c, "category");
+        this.fields = new byte[categoryEnd + encodedLength(d, "description")];
+        encode(d, encode(c, encode(n, 0)));
+    }
+
+    /** Copy sharing the packed fields of {@code source}, with new bookkeeping. */
+    private Item(Item source, long version, long modifiedAt) {
+        this.id = source.id;
+        this.fields = source.fields;
+        this.nameEnd = source.nameEnd;
+        this.categoryEnd = source.categoryEnd;
+        this.latin1 = source.latin1;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+        this.name = source.name;
+        this.category = source.category;
+        this.description = source.description;
+    }
+
+    /**
+     * Returns this item stamped with a new version and modification time. Used by repositories on save;
+     * the field data is shared, not copied.
+     *
+     * @param version    repository version (non-negative)
+     * @param modifiedAt time of the save in epoch milliseconds
+     * @return an item equal to this one with the given bookkeeping
+     * @throws IllegalArgumentException if {@code version} is negative
+     */
+    public Item withVersion(long version, long modifiedAt) {
+        if (version < 0) throw new IllegalArgumentException("version cannot be negative");
+        return new Item(this, version, modifiedAt);
     }
 
     /** @return the unique identifier of this item */
     public String id() { return id; }
 
     /** @return the display name of this item (never null) */
-    public String name() { return name; }
+    public String name() {
+        String s = name;
+        if (s == null) name = s = decode(0, nameEnd);
+        return s;
+    }
 
     /** @return the category label of this item (never null) */
-    public String category() { return category; }
+    public String category() {
+        String s = category;
+        if (s == null) category = s = decode(nameEnd, categoryEnd);
+        return s;
+    }
 
     /** @return the description of this item (never null) */
-    public String description() { return description; }
+    public String description() {
+        String s = description;
+        if (s == null) description = s = decode(categoryEnd, fields.length);
+        return s;
+    }
+
+    /** @return repository version of the last save ({@code 0} if never saved) */
+    public long version() { return version; }
+
+    /** @return time of the last save in epoch milliseconds ({@code 0} if unknown) */
+    public long modifiedAt() { return modifiedAt; }
 
     /**
      * Equality is based only on {@code id}.
@@ -66,6 +161,64 @@ public final class Item {
 
     @Override
     public String toString() {
-        return "Item[" + id + "," + name + "," + category + "]";
+        return "Item[" + id + "," + name() + "," + category() + "]";
+    }
+
+    private String decode(int from, int to) {
+        if (from == to) return "";
+        return new String(fields, from, to - from, latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of bytes {@link #encode(String, int)} writes for {@code s}. Text with an unpaired
+     * surrogate has no UTF-8 form and is rejected, rather than stored with a replacement character.
+     */
+    private int encodedLength(String s, String field) {
+        if (latin1) return s.length();
+        int len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch < 0x80) len += 1;
+            else if (ch < 0x800) len += 2;
+            else if (Character.isHighSurrogate(ch) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                len += 4;
+                i++;
+            } else if (Character.isSurrogate(ch)) {
+                throw new IllegalArgumentException(field + " contains an unpaired surrogate at index " + i);
+            } else len += 3;
+        }
+        return len;
+    }
+
+    /** Writes {@code s} into {@link #fields} from {@code at}, as Latin-1 or UTF-8, and returns the end offset. */
+    private int encode(String s, int at) {
+        byte[] b = fields;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (latin1 || ch < 0x80) {
+                b[at++] = (byte) ch;
+            } else if (ch < 0x800) {
+                b[at++] = (byte) (0xC0 | ch >> 6);
+                b[at++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(ch, s.charAt(++i));
+                b[at++] = (byte) (0xF0 | cp >> 18);
+                b[at++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                b[at++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                b[at++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                b[at++] = (byte) (0xE0 | ch >> 12);
+                b[at++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                b[at++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+        return at;
+    }
+
+    private static boolean isLatin1(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) return false;
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package it.fpili.imaginarium.persistence;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link Repository}.
+ *
+ * <p>Every operation returns immediately with a {@link CompletableFuture}. Failures
+ * are reported by completing the future exceptionally with the same
+ * {@link it.fpili.imaginarium.exception.ApplicationException} the blocking contract
+ * would have thrown.</p>
+ *
+ * @param <T>  entity type
+ * @param <ID> identifier type
+ */
+public interface AsyncRepository<T, ID> {
+
+    /**
+     * Saves (inserts or updates) an entity.
+     *
+     * @param entity the entity to persist (non-null)
+     * @return a future completed once the entity has been persisted
+     */
+    CompletableFuture<Void> save(T entity);
+
+    /**
+     * Finds an entity by its identifier.
+     *
+     * @param id the unique identifier (non-null)
+     * @return a future completed with the entity if found, or empty if not present
+     */
+    CompletableFuture<Optional<T>> findById(ID id);
+
+    /**
+     * Retrieves all entities in the repository.
+     *
+     * @return a future completed with an immutable list of all entities
+     */
+    CompletableFuture<List<T>> findAll();
+
+    /**
+     * Deletes an entity by its identifier.
+     *
+     * @param id the identifier of the entity to delete
+     * @return a future completed once the entity has been deleted
+     */
+    CompletableFuture<Void> deleteById(ID id);
+}
@@ -0,0 +1,81 @@
+package it.fpili.imaginarium.persistence;
+
+import it.fpili.imaginarium.util.AsyncTasks;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Adapts a blocking {@link Repository} to the {@link AsyncRepository} contract.
+ * <p>
+ * Each call is executed as its own task on an {@link ExecutorService}, by default
+ * a virtual-thread-per-task executor: callers can fan out many concurrent operations
+ * (including {@code save} disk writes) without sizing a platform-thread pool.
+ * </p>
+ * <p>
+ * The adapter owns its executor; {@link #close()} waits for submitted tasks and shuts it down.
+ * </p>
+ *
+ * @param <T>  entity type
+ * @param <ID> identifier type
+ */
+public final class AsyncRepositoryAdapter<T, ID> implements AsyncRepository<T, ID>, AutoCloseable {
+
+    private final Repository<T, ID> delegate;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an adapter running on a new virtual-thread-per-task executor.
+     *
+     * @param delegate blocking repository to adapt (must not be {@code null})
+     */
+    public AsyncRepositoryAdapter(Repository<T, ID> delegate) {
+        this(delegate, AsyncTasks.newVirtualThreadExecutor());
+    }
+
+    /**
+     * Creates an adapter running on the given executor.
+     *
+     * @param delegate blocking repository to adapt (must not be {@code null})
+     * @param executor executor owned by this adapter (must not be {@code null})
+     */
+    public AsyncRepositoryAdapter(Repository<T, ID> delegate, ExecutorService executor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public CompletableFuture<Void> save(T entity) {
+        return AsyncTasks.submit(() -> {
+            delegate.save(entity);
+            return null;
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return AsyncTasks.submit(() -> delegate.findById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAll() {
+        return AsyncTasks.submit(delegate::findAll, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(ID id) {
+        return AsyncTasks.submit(() -> {
+            delegate.deleteById(id);
+            return null;
+        }, executor);
+    }
+
+    /** Waits for already submitted operations and releases the executor. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
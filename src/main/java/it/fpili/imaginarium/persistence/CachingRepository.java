@@ -0,0 +1,354 @@
+package it.fpili.imaginarium.persistence;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.util.CacheStats;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator that adds a bounded read cache in front of any {@link Repository}.
+ * <p>
+ * {@link #findById(Object)} results (including misses) and the {@link #findAll()} snapshot
+ * are cached; {@link #save(Object)} and {@link #deleteById(Object)} are written through to
+ * the delegate and invalidate the affected entry and the snapshot. The wrapped backend does
+ * not need to know it is being cached.
+ * </p>
+ * <p>
+ * Supported eviction policies:
+ * <ul>
+ *   <li>{@link EvictionPolicy#LRU}: evicts the least recently used entry when full.</li>
+ *   <li>{@link EvictionPolicy#LFU}: evicts the least frequently used entry when full
+ *       (ties broken by age), in constant time using frequency buckets.</li>
+ *   <li>{@link EvictionPolicy#TTL}: entries expire a fixed time after being loaded;
+ *       when full, the oldest entry is evicted.</li>
+ * </ul>
+ * All operations are serialized on a {@link ReentrantLock}, mirroring {@link CsvItemRepository}.
+ * </p>
+ *
+ * @param <T>  entity type
+ * @param <ID> identifier type
+ */
+public final class CachingRepository<T, ID> implements Repository<T, ID> {
+
+    /** Strategy used to choose which entry to drop when the cache is full. */
+    public enum EvictionPolicy { LRU, LFU, TTL }
+
+    /** Cached lookup result; a {@code null} value records a known miss. */
+    private static final class Entry<T> {
+        final T value;
+        final long loadedAt;
+        int frequency = 1;
+
+        Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final Repository<T, ID> delegate;
+    private final Function<? super T, ? extends ID> idOf;
+    private final EvictionPolicy policy;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Cached entries; access-ordered for LRU, insertion-ordered otherwise. */
+    private final LinkedHashMap<ID, Entry<T>> entries;
+
+    /** LFU bookkeeping: frequency to keys in arrival order. */
+    private final Map<Integer, LinkedHashSet<ID>> buckets = new HashMap<>();
+    private int minFrequency;
+
+    private List<T> snapshot;
+    private long snapshotLoadedAt;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a caching decorator.
+     *
+     * @param delegate   repository to wrap (must not be {@code null})
+     * @param idOf       function extracting the identifier of an entity (must not be {@code null})
+     * @param policy     eviction policy (must not be {@code null})
+     * @param maxEntries maximum number of cached {@code findById} entries (positive)
+     * @param ttl        time-to-live of an entry; only used by {@link EvictionPolicy#TTL}
+     * @param clock      monotonic time source in nanoseconds
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive or the TTL is invalid
+     */
+    CachingRepository(Repository<T, ID> delegate, Function<? super T, ? extends ID> idOf,
+                      EvictionPolicy policy, int maxEntries, Duration ttl, LongSupplier clock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.idOf = Objects.requireNonNull(idOf, "idOf");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive");
+        if (policy == EvictionPolicy.TTL && (ttl == null || ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("TTL policy requires a positive ttl");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl == null ? Long.MAX_VALUE : ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, policy == EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates a cache evicting the least recently used entry.
+     *
+     * @param delegate   repository to wrap
+     * @param idOf       identifier extractor
+     * @param maxEntries maximum number of cached entries
+     * @param <T>        entity type
+     * @param <ID>       identifier type
+     * @return the caching decorator
+     */
+    public static <T, ID> CachingRepository<T, ID> lru(Repository<T, ID> delegate,
+                                                       Function<? super T, ? extends ID> idOf,
+                                                       int maxEntries) {
+        return new CachingRepository<>(delegate, idOf, EvictionPolicy.LRU, maxEntries, null, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache evicting the least frequently used entry.
+     *
+     * @param delegate   repository to wrap
+     * @param idOf       identifier extractor
+     * @param maxEntries maximum number of cached entries
+     * @param <T>        entity type
+     * @param <ID>       identifier type
+     * @return the caching decorator
+     */
+    public static <T, ID> CachingRepository<T, ID> lfu(Repository<T, ID> delegate,
+                                                       Function<? super T, ? extends ID> idOf,
+                                                       int maxEntries) {
+        return new CachingRepository<>(delegate, idOf, EvictionPolicy.LFU, maxEntries, null, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache whose entries (and {@code findAll} snapshot) expire after {@code ttl}.
+     *
+     * @param delegate   repository to wrap
+     * @param idOf       identifier extractor
+     * @param maxEntries maximum number of cached entries
+     * @param ttl        time-to-live (positive)
+     * @param <T>        entity type
+     * @param <ID>       identifier type
+     * @return the caching decorator
+     */
+    public static <T, ID> CachingRepository<T, ID> ttl(Repository<T, ID> delegate,
+                                                       Function<? super T, ? extends ID> idOf,
+                                                       int maxEntries, Duration ttl) {
+        return new CachingRepository<>(delegate, idOf, EvictionPolicy.TTL, maxEntries, ttl, System::nanoTime);
+    }
+
+    /**
+     * Writes the entity through to the delegate, then invalidates its cache entry and the snapshot.
+     *
+     * @param entity the entity to persist
+     * @throws ApplicationException if the delegate fails
+     */
+    @Override
+    public void save(T entity) throws ApplicationException {
+        lock.lock();
+        try {
+            delegate.save(entity);
+        } finally {
+            invalidate(idOf.apply(entity));
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the entities through to the delegate in one batch, then invalidates their
+     * entries and the snapshot.
+     *
+     * @param entities the entities to persist
+     * @throws ApplicationException if the delegate fails
+     */
+    @Override
+    public void saveAll(List<? extends T> entities) throws ApplicationException {
+        lock.lock();
+        try {
+            delegate.saveAll(entities);
+        } finally {
+            for (T e : entities) removeEntry(idOf.apply(e));
+            snapshot = null;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached lookup for {@code id}, loading it from the delegate on a miss.
+     *
+     * @param id the identifier
+     * @return the entity if present
+     * @throws ApplicationException if the delegate fails
+     */
+    @Override
+    public Optional<T> findById(ID id) throws ApplicationException {
+        lock.lock();
+        try {
+            Entry<T> e = entries.get(id);
+            if (e != null && isExpired(e.loadedAt)) {
+                removeEntry(id);
+                evictions++;
+                e = null;
+            }
+            if (e != null) {
+                hits++;
+                if (policy == EvictionPolicy.LFU) touchFrequency(id, e);
+                return Optional.ofNullable(e.value);
+            }
+            misses++;
+            T loaded = delegate.findById(id).orElse(null);
+            if (entries.size() >= maxEntries) evictOne();
+            entries.put(id, new Entry<>(loaded, clock.getAsLong()));
+            if (policy == EvictionPolicy.LFU) {
+                buckets.computeIfAbsent(1, f -> new LinkedHashSet<>()).add(id);
+                minFrequency = 1;
+            }
+            return Optional.ofNullable(loaded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached snapshot of all entities, reloading it after a write or expiry.
+     *
+     * @return immutable list of all entities
+     * @throws ApplicationException if the delegate fails
+     */
+    @Override
+    public List<T> findAll() throws ApplicationException {
+        lock.lock();
+        try {
+            if (snapshot != null && isExpired(snapshotLoadedAt)) {
+                snapshot = null;
+                evictions++;
+            }
+            if (snapshot != null) {
+                hits++;
+                return snapshot;
+            }
+            misses++;
+            snapshot = List.copyOf(delegate.findAll());
+            snapshotLoadedAt = clock.getAsLong();
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes through the delegate, then invalidates the entry and the snapshot.
+     *
+     * @param id the identifier of the entity to delete
+     * @throws ApplicationException if the delegate fails
+     */
+    @Override
+    public void deleteById(ID id) throws ApplicationException {
+        lock.lock();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            invalidate(id);
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current hit, miss and eviction counters.
+     *
+     * @return an immutable statistics snapshot
+     */
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits, misses, evictions, entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drops every cached entry and the snapshot (counters are kept). */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the cached lookup for {@code id} and the {@code findAll} snapshot.
+     *
+     * @param id identifier whose entry must be dropped
+     */
+    private void invalidate(ID id) {
+        removeEntry(id);
+        snapshot = null;
+    }
+
+    private boolean isExpired(long loadedAt) {
+        return policy == EvictionPolicy.TTL && clock.getAsLong() - loadedAt >= ttlNanos;
+    }
+
+    private void removeEntry(ID id) {
+        Entry<T> e = entries.remove(id);
+        if (e != null && policy == EvictionPolicy.LFU) {
+            LinkedHashSet<ID> bucket = buckets.get(e.frequency);
+            bucket.remove(id);
+            if (bucket.isEmpty()) buckets.remove(e.frequency);
+        }
+    }
+
+    /** Moves {@code id} to the next frequency bucket after a hit. */
+    private void touchFrequency(ID id, Entry<T> e) {
+        LinkedHashSet<ID> bucket = buckets.get(e.frequency);
+        bucket.remove(id);
+        if (bucket.isEmpty()) {
+            buckets.remove(e.frequency);
+            if (minFrequency == e.frequency) minFrequency++;
+        }
+        e.frequency++;
+        buckets.computeIfAbsent(e.frequency, f -> new LinkedHashSet<>()).add(id);
+    }
+
+    /** Evicts one entry according to the configured policy. */
+    private void evictOne() {
+        ID victim;
+        if (policy == EvictionPolicy.LFU) {
+            LinkedHashSet<ID> bucket = buckets.get(minFrequency);
+            if (bucket == null) {
+                // Invalidations may leave minFrequency stale; recompute (rare).
+                minFrequency = buckets.keySet().stream().min(Integer::compare).orElse(1);
+                bucket = buckets.get(minFrequency);
+            }
+            if (bucket == null) return;
+            victim = bucket.iterator().next();
+        } else {
+            // LRU: access order puts the least recently used first; TTL: oldest load first.
+            Iterator<ID> it = entries.keySet().iterator();
+            if (!it.hasNext()) return;
+            victim = it.next();
+        }
+        removeEntry(victim);
+        evictions++;
+    }
+}
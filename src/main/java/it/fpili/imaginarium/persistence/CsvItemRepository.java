@@ -5,25 +5,48 @@ import it.fpili.imaginarium.exception.IoOperationException;
 import it.fpili.imaginarium.model.Item;
 import it.fpili.imaginarium.util.LoggerConfig;
 import it.fpili.imaginarium.util.SafeIO;
-import it.fpili.imaginarium.factory.CsvItemCreator;
+import it.fpili.imaginarium.factory.CsvItemDecoder;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 /**
  * Repository backed by a CSV file for storing {@link Item} entities.
  * <p>
- * File format: {@code ID,Name,Category,Description}
- * The first line is always a header, automatically written on persist.
+ * File format: {@code ID,Name,Category,Description,Version,Modified}
+ * A header line is always written on persist. It is preceded by a {@code #lastVersion=n}
+ * metadata line, kept outside the column schema, so that versions keep growing after the
+ * newest item is deleted. The loader reads it only as the first line of the file; every
+ * other line is data, so an item whose id starts with {@code #} survives a reload.
  * Data is cached in an in-memory map for efficient lookups.
  * LinkedHashMap is used to preserve insertion order.
  * </p>
+ * <p>
+ * Every save stamps the item with the next version number and the current time
+ * (see {@link VersionedRepository}). A second map ordered by version serves
+ * {@link #findModifiedSince(long)} without scanning the catalog. Files written before
+ * versions existed (four columns) still load: their rows are numbered in file order.
+ * </p>
+ * <p>
+ * Access is serialized with a {@link ReentrantLock} rather than {@code synchronized},
+ * so that callers running on virtual threads do not pin their carrier thread while
+ * waiting for (or performing) the CSV rewrite.
+ * </p>
  */
-public final class CsvItemRepository implements Repository<Item, String> {
+public final class CsvItemRepository implements VersionedRepository<Item, String> {
     private static final Logger log = LoggerConfig.getLogger(CsvItemRepository.class);
+    private static final String HEADER = "ID,Name,Category,Description,Version,Modified";
+    private static final String LAST_VERSION = "#lastVersion=";
     private final Path file;
     private final Map<String, Item> index = new LinkedHashMap<>();
+    private final NavigableMap<Long, Item> byVersion = new TreeMap<>();
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastVersion;
 
     /**
      * Creates a repository bound to a specific CSV file path.
@@ -32,20 +55,58 @@ public final class CsvItemRepository implements Repository<Item, String> {
      * @param csvPath path to the CSV file (created automatically on first save if missing)
      */
     public CsvItemRepository(Path csvPath) {
+        this(csvPath, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a repository with a custom time source for modification timestamps.
+     *
+     * @param csvPath path to the CSV file (created automatically on first save if missing)
+     * @param clock   wall-clock time in epoch milliseconds
+     */
+    CsvItemRepository(Path csvPath, LongSupplier clock) {
         this.file = Objects.requireNonNull(csvPath, "csvPath");
+        this.clock = Objects.requireNonNull(clock, "clock");
         loadQuietly();
     }
 
     /**
      * Saves or updates an item in the repository and persists changes to disk.
+     * The stored copy carries the next version and the current time.
      *
      * @param entity the item to save
      * @throws IoOperationException if the write operation fails
      */
     @Override
-    public synchronized void save(Item entity) throws IoOperationException {
-        index.put(entity.id(), entity); // First, it saves the Item in memory
-        persist(); // Then, it persists the changes to disk
+    public void save(Item entity) throws IoOperationException {
+        lock.lock();
+        try {
+            stamp(entity, clock.getAsLong()); // First, it saves the Item in memory
+            persist(); // Then, it persists the changes to disk
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves or updates several items and persists the file once.
+     * Each item gets its own version, in list order, and all share one timestamp.
+     *
+     * @param entities the items to save, in order
+     * @throws IoOperationException if the write operation fails
+     */
+    @Override
+    public void saveAll(List<? extends Item> entities) throws IoOperationException {
+        Objects.requireNonNull(entities, "entities");
+        if (entities.isEmpty()) return;
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            for (Item it : entities) stamp(it, now);
+            persist();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -55,8 +116,13 @@ public final class CsvItemRepository implements Repository<Item, String> {
      * @return an {@link Optional} containing the item if present, otherwise empty
      */
     @Override
-    public synchronized Optional<Item> findById(String id) {
-        return Optional.ofNullable(index.get(id));
+    public Optional<Item> findById(String id) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(index.get(id));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -65,8 +131,61 @@ public final class CsvItemRepository implements Repository<Item, String> {
      * @return immutable list of items (never null)
      */
     @Override
-    public synchronized List<Item> findAll() {
-        return List.copyOf(index.values());
+    public List<Item> findAll() {
+        lock.lock();
+        try {
+            return List.copyOf(index.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the items accepted by {@code filter}, evaluated directly on the in-memory map.
+     * Only matching items are copied into the result.
+     *
+     * @param filter side-effect-free predicate
+     * @return immutable list of matching items in insertion order (never null)
+     */
+    @Override
+    public List<Item> findMatching(Predicate<? super Item> filter) {
+        Objects.requireNonNull(filter, "filter");
+        lock.lock();
+        try {
+            List<Item> out = new ArrayList<>();
+            for (Item it : index.values()) {
+                if (filter.test(it)) out.add(it);
+            }
+            return List.copyOf(out);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long currentVersion() {
+        lock.lock();
+        try {
+            return lastVersion;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the items saved after {@code version}, read from the version-ordered map.
+     *
+     * @param version last version already processed by the caller
+     * @return immutable list of changed items, oldest change first (never null)
+     */
+    @Override
+    public List<Item> findModifiedSince(long version) {
+        lock.lock();
+        try {
+            return List.copyOf(byVersion.tailMap(version, false).values());
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -79,58 +198,116 @@ public final class CsvItemRepository implements Repository<Item, String> {
      */
 
     @Override
-    public synchronized void deleteById(String id) throws ApplicationException {
-        if (!index.containsKey(id)) {
-            throw new ApplicationException("Item with ID '" + id + "' not found");
+    public void deleteById(String id) throws ApplicationException {
+        lock.lock();
+        try {
+            if (!index.containsKey(id)) {
+                throw new ApplicationException("Item with ID '" + id + "' not found");
+            }
+            byVersion.remove(index.remove(id).version());
+            persist();
+            log.fine("Successfully deleted item with id=" + id);
+        } finally {
+            lock.unlock();
         }
-        index.remove(id);
-        persist();
-        log.fine("Successfully deleted item with id=" + id);
+    }
+
+    /** Stores {@code entity} under the next version; caller holds the lock. */
+    private void stamp(Item entity, long now) {
+        Item stamped = entity.withVersion(++lastVersion, now);
+        Item old = index.put(stamped.id(), stamped);
+        if (old != null) byVersion.remove(old.version());
+        byVersion.put(stamped.version(), stamped);
     }
 
     /**
      * Loads items from the CSV file into memory.
      * Skips header and malformed lines.
+     * Lines are streamed and decoded straight into items by one reusable {@link CsvItemDecoder}.
      * Logs warnings on load failure instead of throwing.
      */
     private void loadQuietly() {
         try {
             if (!java.nio.file.Files.exists(file)) return;
-            String content = SafeIO.readUtf8(file);
             index.clear();
-            for (String line : content.split("\\R")) {
-                if (line.isBlank()) continue;
-                if (line.regionMatches(true, 0, "ID,Name,Category,Description", 0, 28)) continue; // skip header
-                String[] cols = CsvUtil.parseLine(line);
-                if (cols.length < 4) {
+            byVersion.clear();
+            lastVersion = 0;
+            CsvItemDecoder decoder = new CsvItemDecoder();
+            boolean[] first = {true};
+            SafeIO.forEachLineUtf8(file, line -> {
+                if (first[0]) {
+                    first[0] = false;
+                    if (line.startsWith(LAST_VERSION)) { // metadata
+                        readLastVersion(line);
+                        return;
+                    }
+                }
+                if (line.isBlank()) return;
+                if (line.regionMatches(true, 0, "ID,Name,Category,Description", 0, 28)) return; // header
+                if (!decoder.read(line)) {
+                    log.warning("Skipping malformed line: " + line);
+                    return;
+                }
+                Item it;
+                try {
+                    it = decoder.build();
+                } catch (IllegalArgumentException e) {
                     log.warning("Skipping malformed line: " + line);
-                    continue;
+                    return;
                 }
-                Item it = new CsvItemCreator(cols).build();
                 index.put(it.id(), it);
-            }
+            });
+            renumberLoaded();
             log.info("Loaded " + index.size() + " items from CSV");
         } catch (IoOperationException e) {
             log.warning("Unable to load CSV: " + e.getMessage());
         }
     }
 
+    /** Restores the version high-water mark from the metadata line. */
+    private void readLastVersion(String line) {
+        try {
+            lastVersion = Math.max(lastVersion, Long.parseLong(line.substring(LAST_VERSION.length()).trim()));
+        } catch (NumberFormatException e) {
+            log.warning("Ignoring malformed version mark: " + line);
+        }
+    }
+
+    /**
+     * Builds the version map after a load. Rows without a version (older files), or
+     * sharing one with an earlier row, are numbered after the highest version read.
+     */
+    private void renumberLoaded() {
+        for (Item it : index.values()) lastVersion = Math.max(lastVersion, it.version());
+        for (Map.Entry<String, Item> e : index.entrySet()) {
+            Item it = e.getValue();
+            if (it.version() == 0 || byVersion.containsKey(it.version())) {
+                it = it.withVersion(++lastVersion, it.modifiedAt());
+                e.setValue(it);
+            }
+            byVersion.put(it.version(), it);
+        }
+    }
+
     /**
      * Persists the in-memory index to the CSV file,
-     * always writing a header line first.
+     * always writing the version mark and the header line first.
      *
      * @throws IoOperationException if the write operation fails
      */
     private void persist() throws IoOperationException {
         StringBuilder sb = new StringBuilder();
 
-        sb.append("ID,Name,Category,Description\n");
+        sb.append(LAST_VERSION).append(lastVersion).append('\n');
+        sb.append(HEADER).append('\n');
 
         for (Item it : index.values()) {
             sb.append(CsvUtil.esc(it.id())).append(',')
                     .append(CsvUtil.esc(it.name())).append(',')
                     .append(CsvUtil.esc(it.category())).append(',')
-                    .append(CsvUtil.esc(it.description())).append('\n');
+                    .append(CsvUtil.esc(it.description())).append(',')
+                    .append(it.version()).append(',')
+                    .append(it.modifiedAt()).append('\n');
         }
         SafeIO.writeUtf8(file, sb.toString());
         log.fine("CSV persisted: " + index.size() + " items (with header)");
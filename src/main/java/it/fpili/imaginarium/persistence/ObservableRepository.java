@@ -0,0 +1,160 @@
+package it.fpili.imaginarium.persistence;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator that publishes successful writes of a {@link Repository} to {@link RepositoryListener}s.
+ * <p>
+ * Writes are serialized so that listeners observe them in the same order as the delegate.
+ * Reads are passed through unchanged. Subscribing hands the listener a consistent snapshot:
+ * no write can slip between the snapshot and the registration.
+ * </p>
+ * <p>
+ * Every successful write also bumps a {@link #version() version} number. The number is
+ * incremented only after all listeners have been notified, so a reader that sees version
+ * {@code v} before computing a result from listener-maintained state never pairs {@code v}
+ * with state older than {@code v}.
+ * </p>
+ * <p>
+ * When created with an id extractor, listeners receive each saved entity as the delegate
+ * stored it (read back by id) rather than the argument of the call. This matters for
+ * delegates that stamp entities on save, such as a {@link VersionedRepository}.
+ * </p>
+ *
+ * @param <T>  entity type
+ * @param <ID> identifier type
+ */
+public final class ObservableRepository<T, ID> implements Repository<T, ID> {
+
+    private final Repository<T, ID> delegate;
+    private final Function<? super T, ? extends ID> idOf;
+    private final List<RepositoryListener<T, ID>> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Creates an observable view of {@code delegate}.
+     *
+     * @param delegate repository to wrap (must not be {@code null})
+     */
+    public ObservableRepository(Repository<T, ID> delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.idOf = null;
+    }
+
+    /**
+     * Creates an observable view of {@code delegate} that notifies listeners with the stored entities.
+     *
+     * @param delegate repository to wrap (must not be {@code null})
+     * @param idOf     function extracting the identifier of an entity (must not be {@code null})
+     */
+    public ObservableRepository(Repository<T, ID> delegate, Function<? super T, ? extends ID> idOf) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.idOf = Objects.requireNonNull(idOf, "idOf");
+    }
+
+    /**
+     * Registers a listener after handing it the current content via {@link RepositoryListener#onReload(List)}.
+     *
+     * @param listener listener to register (must not be {@code null})
+     * @throws ApplicationException if the initial snapshot cannot be read
+     */
+    public void subscribe(RepositoryListener<T, ID> listener) throws ApplicationException {
+        Objects.requireNonNull(listener, "listener");
+        writeLock.lock();
+        try {
+            listener.onReload(delegate.findAll());
+            listeners.add(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a previously registered listener (no-op if absent).
+     *
+     * @param listener listener to remove
+     */
+    public void unsubscribe(RepositoryListener<T, ID> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the number of successful writes performed through this decorator.
+     *
+     * @return monotonically increasing version number, starting at {@code 0}
+     */
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void save(T entity) throws ApplicationException {
+        writeLock.lock();
+        try {
+            delegate.save(entity);
+            T stored = stored(entity);
+            for (RepositoryListener<T, ID> l : listeners) l.onSave(stored);
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(List<? extends T> entities) throws ApplicationException {
+        writeLock.lock();
+        try {
+            delegate.saveAll(entities);
+            for (T e : entities) {
+                T stored = stored(e);
+                for (RepositoryListener<T, ID> l : listeners) l.onSave(stored);
+            }
+            if (!entities.isEmpty()) version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<T> findById(ID id) throws ApplicationException {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<T> findAll() throws ApplicationException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<T> findMatching(Predicate<? super T> filter) throws ApplicationException {
+        return delegate.findMatching(filter);
+    }
+
+    @Override
+    public void deleteById(ID id) throws ApplicationException {
+        writeLock.lock();
+        try {
+            delegate.deleteById(id);
+            for (RepositoryListener<T, ID> l : listeners) l.onDelete(id);
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Returns the delegate's copy of a just-saved entity, or the entity itself without an id extractor. */
+    private T stored(T entity) throws ApplicationException {
+        if (idOf == null || listeners.isEmpty()) return entity;
+        return delegate.findById(idOf.apply(entity)).orElse(entity);
+    }
+}
@@ -2,8 +2,11 @@ package it.fpili.imaginarium.persistence;
 
 import it.fpili.imaginarium.exception.ApplicationException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Minimal generic repository contract for CRUD-like access.
@@ -28,6 +31,21 @@ public interface Repository<T, ID> {
      */
     void save(T entity) throws ApplicationException;
 
+    /**
+     * Saves (inserts or updates) several entities, in order.
+     * <p>
+     * The default implementation calls {@link #save(Object)} for each entity. Implementations
+     * with a per-write cost (such as rewriting a file) should override it to pay that cost once.
+     * </p>
+     *
+     * @param entities the entities to persist (non-null, no null elements)
+     * @throws ApplicationException if the persistence operation fails
+     */
+    default void saveAll(List<? extends T> entities) throws ApplicationException {
+        Objects.requireNonNull(entities, "entities");
+        for (T e : entities) save(e);
+    }
+
     /**
      * Finds an entity by its identifier.
      *
@@ -46,6 +64,27 @@ public interface Repository<T, ID> {
      */
     List<T> findAll() throws ApplicationException;
 
+    /**
+     * Retrieves the entities accepted by {@code filter}, in the same order as {@link #findAll()}.
+     * <p>
+     * The default implementation filters the {@link #findAll()} snapshot. Implementations
+     * holding their data in memory should override it to evaluate the filter in place,
+     * without copying entities that do not match.
+     * </p>
+     *
+     * @param filter side-effect-free predicate (non-null)
+     * @return immutable list of matching entities (never null, may be empty)
+     * @throws ApplicationException if the retrieval fails
+     */
+    default List<T> findMatching(Predicate<? super T> filter) throws ApplicationException {
+        Objects.requireNonNull(filter, "filter");
+        List<T> out = new ArrayList<>();
+        for (T t : findAll()) {
+            if (filter.test(t)) out.add(t);
+        }
+        return List.copyOf(out);
+    }
+
     /**
      * Deletes an entity by its identifier.
      *
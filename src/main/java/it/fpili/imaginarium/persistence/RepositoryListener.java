@@ -0,0 +1,42 @@
+package it.fpili.imaginarium.persistence;
+
+import java.util.List;
+
+/**
+ * Callback interface notified about the content of a repository.
+ *
+ * <p>Listeners are registered on an {@link ObservableRepository}. They receive
+ * a full snapshot once when subscribing and then every successful write,
+ * in commit order, so derived structures (search indexes, counters, caches)
+ * can be maintained incrementally instead of being rebuilt from
+ * {@link Repository#findAll()}.</p>
+ *
+ * <p>Callbacks run on the writing thread while the write is still serialized;
+ * they should be fast and must not throw.</p>
+ *
+ * @param <T>  entity type
+ * @param <ID> identifier type
+ */
+public interface RepositoryListener<T, ID> {
+
+    /**
+     * Replaces all derived state with the given snapshot.
+     *
+     * @param snapshot all entities currently stored (never {@code null})
+     */
+    void onReload(List<T> snapshot);
+
+    /**
+     * Called after an entity has been saved (inserted or updated).
+     *
+     * @param entity the saved entity
+     */
+    void onSave(T entity);
+
+    /**
+     * Called after an entity has been deleted.
+     *
+     * @param id identifier of the deleted entity
+     */
+    void onDelete(ID id);
+}
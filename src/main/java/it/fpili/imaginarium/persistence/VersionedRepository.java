@@ -0,0 +1,38 @@
+package it.fpili.imaginarium.persistence;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+
+import java.util.List;
+
+/**
+ * {@link Repository} that stamps every saved entity with a version number.
+ * <p>
+ * Versions come from a single counter that grows by one per saved entity, so they also
+ * order the writes. A consumer that remembers the {@link #currentVersion()} it last
+ * processed can later ask for {@link #findModifiedSince(long)} and touch only what
+ * changed instead of reprocessing everything. Deletions leave no version behind: consumers
+ * that must observe them compare ids or listen through an {@link ObservableRepository}.
+ * </p>
+ *
+ * @param <T>  entity type
+ * @param <ID> identifier type
+ */
+public interface VersionedRepository<T, ID> extends Repository<T, ID> {
+
+    /**
+     * Returns the highest version assigned so far.
+     *
+     * @return latest version, {@code 0} if nothing was ever stored
+     * @throws ApplicationException if the version cannot be read
+     */
+    long currentVersion() throws ApplicationException;
+
+    /**
+     * Returns the entities saved after {@code version}, oldest change first.
+     *
+     * @param version a value previously returned by {@link #currentVersion()} ({@code 0} for everything)
+     * @return immutable list of entities whose version is greater than {@code version} (never {@code null})
+     * @throws ApplicationException if the lookup fails
+     */
+    List<T> findModifiedSince(long version) throws ApplicationException;
+}
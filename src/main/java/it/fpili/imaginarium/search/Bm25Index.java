@@ -0,0 +1,227 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted word index over name, category and description, ranked with BM25F.
+ * <p>
+ * Each field keeps its own term frequencies and length normalization; the per-field
+ * frequencies are combined with configurable boosts before BM25 saturation
+ * ({@code k1 = 1.2}, {@code b = 0.75}). A query matches items containing any of its words.
+ * </p>
+ * <p>
+ * Top-k selection uses a bounded min-heap of document numbers and scores: however many
+ * items match, only {@code k} {@link ScoredItem}s are created. Ties are broken by
+ * repository order. Kept current as a {@link RepositoryListener}; reads may run
+ * concurrently, writes are exclusive.
+ * </p>
+ */
+public final class Bm25Index implements RepositoryListener<Item, String> {
+
+    /** Default boost of the name field. */
+    public static final double NAME_BOOST = 3.0;
+    /** Default boost of the category field. */
+    public static final double CATEGORY_BOOST = 2.0;
+    /** Default boost of the description field. */
+    public static final double DESCRIPTION_BOOST = 1.0;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int FIELDS = 3;
+
+    /** Scored document number used during top-k selection. */
+    private record Hit(int doc, double score) {}
+
+    private static final Comparator<Hit> WEAKEST_FIRST = Comparator
+            .comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::doc).reversed());
+
+    private final double[] boosts;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docOf = new HashMap<>();
+    /** term -> (doc -> per-field term frequencies). */
+    private final Map<String, Map<Integer, int[]>> postings = new HashMap<>();
+    private Item[] items = new Item[16];
+    private int[][] lengths = new int[16][];
+    private String[][] termsOf = new String[16][];
+    private final long[] totalLength = new long[FIELDS];
+    private int nextDoc;
+
+    /** Creates an index with the default field boosts. */
+    public Bm25Index() {
+        this(NAME_BOOST, CATEGORY_BOOST, DESCRIPTION_BOOST);
+    }
+
+    /**
+     * Creates an index with custom field boosts.
+     *
+     * @param nameBoost        weight of matches in the name (non-negative)
+     * @param categoryBoost    weight of matches in the category (non-negative)
+     * @param descriptionBoost weight of matches in the description (non-negative)
+     * @throws IllegalArgumentException if a boost is negative
+     */
+    public Bm25Index(double nameBoost, double categoryBoost, double descriptionBoost) {
+        if (nameBoost < 0 || categoryBoost < 0 || descriptionBoost < 0) {
+            throw new IllegalArgumentException("boosts must not be negative");
+        }
+        this.boosts = new double[]{nameBoost, categoryBoost, descriptionBoost};
+    }
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        lock.writeLock().lock();
+        try {
+            docOf.clear();
+            postings.clear();
+            Arrays.fill(totalLength, 0);
+            int cap = Math.max(16, snapshot.size());
+            items = new Item[cap];
+            lengths = new int[cap][];
+            termsOf = new String[cap][];
+            nextDoc = 0;
+            for (Item it : snapshot) put(it);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.remove(id);
+            if (doc != null) unindex(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code k} best-scoring items for the words of {@code foldedQuery}.
+     *
+     * @param foldedQuery query already normalized with {@link TextFolding#fold(String)}
+     * @param k           maximum number of results (positive)
+     * @return results ordered by decreasing score (never {@code null})
+     * @throws IllegalArgumentException if {@code k} is not positive
+     */
+    public List<ScoredItem> search(String foldedQuery, int k) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive");
+        lock.readLock().lock();
+        try {
+            int n = docOf.size();
+            if (n == 0) return List.of();
+            double[] avg = new double[FIELDS];
+            for (int f = 0; f < FIELDS; f++) avg[f] = Math.max(1.0, (double) totalLength[f] / n);
+
+            Map<Integer, double[]> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(TextFolding.words(foldedQuery))) {
+                Map<Integer, int[]> docs = postings.get(term);
+                if (docs == null) continue;
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Integer, int[]> e : docs.entrySet()) {
+                    int[] tf = e.getValue();
+                    int[] len = lengths[e.getKey()];
+                    double weighted = 0;
+                    for (int f = 0; f < FIELDS; f++) {
+                        if (tf[f] == 0) continue;
+                        weighted += boosts[f] * tf[f] / (1 - B + B * len[f] / avg[f]);
+                    }
+                    double s = idf * weighted / (K1 + weighted);
+                    scores.computeIfAbsent(e.getKey(), d -> new double[1])[0] += s;
+                }
+            }
+
+            // Min-heap of the best k so far: weakest (lowest score, then latest doc) on top.
+            PriorityQueue<Hit> heap = new PriorityQueue<>(k + 1, WEAKEST_FIRST);
+            for (Map.Entry<Integer, double[]> e : scores.entrySet()) {
+                Hit hit = new Hit(e.getKey(), e.getValue()[0]);
+                if (heap.size() == k) {
+                    if (WEAKEST_FIRST.compare(hit, heap.peek()) <= 0) continue;
+                    heap.poll();
+                }
+                heap.add(hit);
+            }
+            ScoredItem[] out = new ScoredItem[heap.size()];
+            for (int i = out.length - 1; i >= 0; i--) {
+                Hit top = heap.poll();
+                out[i] = new ScoredItem(items[top.doc()], top.score());
+            }
+            return Arrays.asList(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Item item) {
+        Integer existing = docOf.get(item.id());
+        int doc;
+        if (existing != null) {
+            doc = existing;
+            unindex(doc);
+        } else {
+            doc = nextDoc++;
+            if (doc == items.length) grow();
+            docOf.put(item.id(), doc);
+        }
+        String[] fields = {item.name(), item.category(), item.description()};
+        int[] len = new int[FIELDS];
+        List<String> distinct = new ArrayList<>();
+        for (int f = 0; f < FIELDS; f++) {
+            List<String> words = TextFolding.words(TextFolding.fold(fields[f]));
+            len[f] = words.size();
+            totalLength[f] += words.size();
+            for (String w : words) {
+                int[] tf = postings.computeIfAbsent(w, t -> new HashMap<>(4))
+                        .computeIfAbsent(doc, d -> {
+                            distinct.add(w);
+                            return new int[FIELDS];
+                        });
+                tf[f]++;
+            }
+        }
+        items[doc] = item;
+        lengths[doc] = len;
+        termsOf[doc] = distinct.toArray(String[]::new);
+    }
+
+    /** Removes every posting of {@code doc} and its length statistics. */
+    private void unindex(int doc) {
+        for (String term : termsOf[doc]) {
+            Map<Integer, int[]> docs = postings.get(term);
+            docs.remove(doc);
+            if (docs.isEmpty()) postings.remove(term);
+        }
+        for (int f = 0; f < FIELDS; f++) totalLength[f] -= lengths[doc][f];
+        items[doc] = null;
+        lengths[doc] = null;
+        termsOf[doc] = null;
+    }
+
+    private void grow() {
+        int cap = items.length * 2;
+        items = Arrays.copyOf(items, cap);
+        lengths = Arrays.copyOf(lengths, cap);
+        termsOf = Arrays.copyOf(termsOf, cap);
+    }
+}
@@ -0,0 +1,48 @@
+package it.fpili.imaginarium.search;
+
+/**
+ * Finds candidate match positions of a needle in a Latin-1 byte buffer.
+ * <p>
+ * A kernel only locates positions where the first one or two bytes of the needle occur;
+ * callers verify the rest. Two implementations exist: a scalar loop, always available, and
+ * one based on the incubating {@code jdk.incubator.vector} API, which compares a whole
+ * vector of positions per step. {@link #best()} picks the vector kernel when the JVM was
+ * started with {@code --add-modules jdk.incubator.vector} and the scalar one otherwise.
+ * </p>
+ */
+public interface ByteScanKernel {
+
+    /**
+     * Returns the first position {@code p} in {@code [from, to)} such that
+     * {@code data[p] == needle[0]} and, if the needle has a second byte, {@code p + 1 < to}
+     * and {@code data[p + 1] == needle[1]}.
+     *
+     * @param data   buffer to scan
+     * @param from   first position to consider (inclusive)
+     * @param to     end of the scanned range (exclusive)
+     * @param needle non-empty needle
+     * @return candidate position, or {@code -1} if none
+     */
+    int next(byte[] data, int from, int to, byte[] needle);
+
+    /** @return short name of the kernel, for diagnostics and benchmarks */
+    String name();
+
+    /**
+     * Returns the scalar kernel.
+     *
+     * @return a kernel comparing one byte at a time
+     */
+    static ByteScanKernel scalar() {
+        return ScalarByteScan.INSTANCE;
+    }
+
+    /**
+     * Returns the fastest kernel available in this JVM.
+     *
+     * @return the vector kernel if {@code jdk.incubator.vector} is enabled, the scalar one otherwise
+     */
+    static ByteScanKernel best() {
+        return ScalarByteScan.BEST;
+    }
+}
@@ -0,0 +1,140 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index from folded category label to the items of that category.
+ * <p>
+ * Categories are kept in a sorted map, so both an exact label and a label prefix are
+ * resolved without touching items of other categories. Within a category, items are
+ * ordered by a stable ordinal assigned on first insertion, so results come back in
+ * repository order. Item counts are available without materializing the items, which
+ * lets a query planner compare the selectivity of access paths.
+ * </p>
+ * <p>
+ * Kept current as a {@link RepositoryListener}; reads may run concurrently, writes are exclusive.
+ * </p>
+ */
+public final class CategoryIndex implements RepositoryListener<Item, String> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, TreeMap<Long, Item>> byCategory = new TreeMap<>();
+    private final Map<String, String> categoryOf = new HashMap<>();
+    private final Map<String, Long> ordinalOf = new HashMap<>();
+    private long nextOrdinal;
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        lock.writeLock().lock();
+        try {
+            byCategory.clear();
+            categoryOf.clear();
+            ordinalOf.clear();
+            nextOrdinal = 0;
+            for (Item it : snapshot) put(it);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(String id) {
+        lock.writeLock().lock();
+        try {
+            String old = categoryOf.remove(id);
+            if (old != null) unlink(old, ordinalOf.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the items whose folded category equals (or starts with) {@code foldedCategory}.
+     *
+     * @param foldedCategory category already normalized with {@link TextFolding#fold(String)}
+     * @param prefix         {@code true} to match every category starting with the label
+     * @return matching items in repository order (never {@code null})
+     */
+    public List<Item> lookup(String foldedCategory, boolean prefix) {
+        lock.readLock().lock();
+        try {
+            if (!prefix) {
+                TreeMap<Long, Item> items = byCategory.get(foldedCategory);
+                return items == null ? List.of() : new ArrayList<>(items.values());
+            }
+            TreeMap<Long, Item> merged = new TreeMap<>();
+            for (TreeMap<Long, Item> items : matching(foldedCategory).values()) merged.putAll(items);
+            return new ArrayList<>(merged.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of items {@link #lookup(String, boolean)} would return.
+     * Costs O(number of matching categories).
+     *
+     * @param foldedCategory category already normalized with {@link TextFolding#fold(String)}
+     * @param prefix         {@code true} to count every category starting with the label
+     * @return number of matching items
+     */
+    public int count(String foldedCategory, boolean prefix) {
+        lock.readLock().lock();
+        try {
+            if (!prefix) {
+                TreeMap<Long, Item> items = byCategory.get(foldedCategory);
+                return items == null ? 0 : items.size();
+            }
+            int n = 0;
+            for (TreeMap<Long, Item> items : matching(foldedCategory).values()) n += items.size();
+            return n;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the categories starting with {@code prefix}. */
+    private NavigableMap<String, TreeMap<Long, Item>> matching(String prefix) {
+        if (prefix.isEmpty()) return byCategory;
+        char last = prefix.charAt(prefix.length() - 1);
+        if (last == Character.MAX_VALUE) return byCategory.tailMap(prefix, true);
+        String upper = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+        return byCategory.subMap(prefix, true, upper, false);
+    }
+
+    private void put(Item item) {
+        String now = TextFolding.fold(item.category());
+        Long ordinal = ordinalOf.get(item.id());
+        if (ordinal == null) {
+            ordinal = nextOrdinal++;
+            ordinalOf.put(item.id(), ordinal);
+        }
+        String old = categoryOf.put(item.id(), now);
+        if (old != null && !old.equals(now)) unlink(old, ordinal);
+        byCategory.computeIfAbsent(now, c -> new TreeMap<>()).put(ordinal, item);
+    }
+
+    private void unlink(String category, Long ordinal) {
+        TreeMap<Long, Item> items = byCategory.get(category);
+        if (items != null && items.remove(ordinal) != null && items.isEmpty()) byCategory.remove(category);
+    }
+}
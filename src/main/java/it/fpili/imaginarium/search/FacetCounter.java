@@ -0,0 +1,121 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item counts per category, maintained incrementally from repository writes.
+ * <p>
+ * Each write adjusts at most two counters, so reading the facets of the whole catalog costs
+ * O(number of categories) instead of a scan of every item. Categories are grouped by their
+ * exact label, as in the category tree of the CLI; items without a category are counted under
+ * {@link #UNCATEGORIZED}. Categories are listed in the order they first appeared; a category
+ * whose count drops to zero is removed.
+ * </p>
+ * <p>
+ * Kept current as a {@link RepositoryListener}; reads may run concurrently, writes are exclusive.
+ * </p>
+ */
+public final class FacetCounter implements RepositoryListener<Item, String> {
+
+    /** Facet label used for items with an empty category. */
+    public static final String UNCATEGORIZED = "(uncategorized)";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, String> categoryOf = new HashMap<>();
+    private final LinkedHashMap<String, int[]> counts = new LinkedHashMap<>();
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        lock.writeLock().lock();
+        try {
+            categoryOf.clear();
+            counts.clear();
+            for (Item it : snapshot) put(it);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(String id) {
+        lock.writeLock().lock();
+        try {
+            String old = categoryOf.remove(id);
+            if (old != null) decrement(old);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current item count of every category.
+     *
+     * @return immutable map from category label to item count, in first-seen order
+     */
+    public Map<String, Integer> counts() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> out = new LinkedHashMap<>(counts.size() * 2);
+            for (Map.Entry<String, int[]> e : counts.entrySet()) out.put(e.getKey(), e.getValue()[0]);
+            return Collections.unmodifiableMap(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts {@code items} per category in a single pass, with the same labels as {@link #counts()}.
+     *
+     * @param items items to group, e.g. a search result
+     * @return immutable map from category label to item count, in first-seen order
+     */
+    public static Map<String, Integer> count(Iterable<Item> items) {
+        LinkedHashMap<String, int[]> tally = new LinkedHashMap<>();
+        for (Item it : items) tally.computeIfAbsent(facetOf(it), c -> new int[1])[0]++;
+        Map<String, Integer> out = new LinkedHashMap<>(tally.size() * 2);
+        for (Map.Entry<String, int[]> e : tally.entrySet()) out.put(e.getKey(), e.getValue()[0]);
+        return Collections.unmodifiableMap(out);
+    }
+
+    /**
+     * Returns the facet label of an item.
+     *
+     * @param item the item
+     * @return its category, or {@link #UNCATEGORIZED} if empty
+     */
+    public static String facetOf(Item item) {
+        String category = item.category();
+        return category.isEmpty() ? UNCATEGORIZED : category;
+    }
+
+    private void put(Item item) {
+        String now = facetOf(item);
+        String old = categoryOf.put(item.id(), now);
+        if (now.equals(old)) return;
+        if (old != null) decrement(old);
+        counts.computeIfAbsent(now, c -> new int[1])[0]++;
+    }
+
+    private void decrement(String category) {
+        int[] c = counts.get(category);
+        if (c != null && --c[0] == 0) counts.remove(category);
+    }
+}
@@ -0,0 +1,181 @@
+package it.fpili.imaginarium.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable, contiguous Latin-1 copy of the folded searchable fields of many documents,
+ * used for substring scans that no index can serve.
+ * <p>
+ * The fields of each document are stored back to back, each followed by a {@code 0}
+ * separator byte, so a needle (which never contains {@code 0}) cannot match across fields
+ * or documents. A {@link ByteScanKernel} locates candidate positions, the remaining bytes are
+ * verified, and the scan then jumps to the next document. Documents whose fields contain
+ * characters outside Latin-1 are kept aside as strings and checked with {@link String#contains}.
+ * </p>
+ */
+public final class FoldedTextBuffer {
+
+    private final byte[] data;
+    private final int[] starts;
+    private final int[] docs;
+    private final int[] wideDocs;
+    private final String[][] wideFields;
+    private final ByteScanKernel kernel;
+
+    private FoldedTextBuffer(Builder b, ByteScanKernel kernel) {
+        this.data = Arrays.copyOf(b.data, b.length);
+        this.starts = Arrays.copyOf(b.starts, b.count);
+        this.docs = Arrays.copyOf(b.docs, b.count);
+        this.wideDocs = b.wideDocs.stream().mapToInt(Integer::intValue).toArray();
+        this.wideFields = b.wideFields.toArray(new String[0][]);
+        this.kernel = kernel;
+    }
+
+    /**
+     * Returns the documents with a field containing {@code foldedQuery}.
+     *
+     * @param foldedQuery query already normalized with {@link TextFolding#fold(String)}
+     * @return matching document numbers in ascending order (never {@code null})
+     */
+    public int[] find(String foldedQuery) {
+        byte[] needle = latin1(foldedQuery);
+        int[] out = new int[8];
+        int n = 0;
+        if (foldedQuery.isEmpty()) {
+            out = docs.clone();
+            n = out.length;
+        } else if (needle != null && foldedQuery.indexOf('\0') < 0) {
+            int pos = 0;
+            int end = data.length;
+            int k = 0; // document containing pos; positions only grow, so it only moves forward
+            while (pos < end) {
+                int p = kernel.next(data, pos, end, needle);
+                if (p < 0) break;
+                if (verify(p, needle)) {
+                    while (k + 1 < starts.length && starts[k + 1] <= p) k++;
+                    if (n == out.length) out = Arrays.copyOf(out, Math.max(8, n * 2));
+                    out[n++] = docs[k];
+                    pos = ++k < starts.length ? starts[k] : end;
+                } else {
+                    pos = p + 1;
+                }
+            }
+        }
+        if (wideDocs.length == 0) return n == out.length ? out : Arrays.copyOf(out, n);
+
+        for (int i = 0; i < wideDocs.length; i++) {
+            for (String f : wideFields[i]) {
+                if (f.contains(foldedQuery)) {
+                    if (n == out.length) out = Arrays.copyOf(out, Math.max(8, n * 2));
+                    out[n++] = wideDocs[i];
+                    break;
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(out, n);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** @return name of the kernel used by {@link #find(String)} */
+    public String kernelName() {
+        return kernel.name();
+    }
+
+    private boolean verify(int p, byte[] needle) {
+        if (p + needle.length > data.length) return false;
+        for (int i = 2; i < needle.length; i++) {
+            if (data[p + i] != needle[i]) return false;
+        }
+        return true;
+    }
+
+    /** Encodes {@code s} as Latin-1, or returns {@code null} if it has wider characters. */
+    private static byte[] latin1(String s) {
+        byte[] out = new byte[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c > 0xFF) return null;
+            out[i] = (byte) c;
+        }
+        return out;
+    }
+
+    /** Accumulates documents in ascending document order. */
+    public static final class Builder {
+        private byte[] data;
+        private int length;
+        private int[] starts;
+        private int[] docs;
+        private int count;
+        private final List<Integer> wideDocs = new ArrayList<>();
+        private final List<String[]> wideFields = new ArrayList<>();
+
+        /**
+         * Creates a builder.
+         *
+         * @param expectedDocs expected number of documents (sizing hint)
+         */
+        public Builder(int expectedDocs) {
+            int docsHint = Math.max(16, expectedDocs);
+            this.data = new byte[docsHint * 32];
+            this.starts = new int[docsHint];
+            this.docs = new int[docsHint];
+        }
+
+        /**
+         * Appends a document.
+         *
+         * @param doc          document number, greater than any previously added
+         * @param foldedFields fields already normalized with {@link TextFolding#fold(String)}
+         * @return this builder
+         */
+        public Builder add(int doc, String... foldedFields) {
+            int bytes = 0;
+            for (String f : foldedFields) {
+                for (int i = 0; i < f.length(); i++) {
+                    if (f.charAt(i) > 0xFF) {
+                        wideDocs.add(doc);
+                        wideFields.add(foldedFields.clone());
+                        return this;
+                    }
+                }
+                bytes += f.length() + 1;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                docs = Arrays.copyOf(docs, count * 2);
+            }
+            if (length + bytes > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, length + bytes));
+            starts[count] = length;
+            docs[count++] = doc;
+            for (String f : foldedFields) {
+                for (int i = 0; i < f.length(); i++) data[length++] = (byte) f.charAt(i);
+                data[length++] = 0;
+            }
+            return this;
+        }
+
+        /**
+         * Builds the buffer with {@link ByteScanKernel#best()}.
+         *
+         * @return the immutable buffer
+         */
+        public FoldedTextBuffer build() {
+            return build(ByteScanKernel.best());
+        }
+
+        /**
+         * Builds the buffer with a specific kernel.
+         *
+         * @param kernel scan kernel (must not be {@code null})
+         * @return the immutable buffer
+         */
+        public FoldedTextBuffer build(ByteScanKernel kernel) {
+            return new FoldedTextBuffer(this, Objects.requireNonNull(kernel, "kernel"));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant word index over item names and categories, backed by a BK-tree.
+ * <p>
+ * The folded words of every name and category form a term dictionary. The terms are
+ * organized in a BK-tree keyed by Levenshtein distance, so a lookup with distance
+ * {@code d} only descends into children whose edge lies in {@code [dist - d, dist + d]}
+ * instead of comparing the query with every term. Each term points to the items using it.
+ * </p>
+ * <p>
+ * A query matches an item when every query word is within the distance limit of some
+ * word of the item. BK-trees do not support removal: terms no longer used by any item
+ * stay in the tree as dead entries and the tree is rebuilt once they outnumber live ones.
+ * Kept current as a {@link RepositoryListener}; reads may run concurrently, writes are exclusive.
+ * </p>
+ */
+public final class FuzzyIndex implements RepositoryListener<Item, String> {
+
+    /** Largest supported edit distance; beyond this a BK-tree degenerates into a full scan. */
+    public static final int MAX_DISTANCE = 3;
+
+    /** BK-tree node: children are keyed by their distance to this term. */
+    private static final class Node {
+        final String term;
+        final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String term) {
+            this.term = term;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<String, Set<String>> termsOf = new HashMap<>();
+    private final Map<String, Item> items = new HashMap<>();
+    private final Map<String, Long> ordinals = new HashMap<>();
+    private long nextOrdinal;
+    private Node root;
+    private int treeSize;
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsOf.clear();
+            items.clear();
+            ordinals.clear();
+            nextOrdinal = 0;
+            root = null;
+            treeSize = 0;
+            for (Item it : snapshot) put(it);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(String id) {
+        lock.writeLock().lock();
+        try {
+            if (items.remove(id) == null) return;
+            ordinals.remove(id);
+            unlink(id, termsOf.remove(id));
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the items in which every word of {@code foldedQuery} approximately occurs.
+     *
+     * @param foldedQuery query already normalized with {@link TextFolding#fold(String)}
+     * @param maxDistance maximum Levenshtein distance per word, in {@code [0, MAX_DISTANCE]}
+     * @return matching items in repository order (never {@code null})
+     * @throws IllegalArgumentException if {@code maxDistance} is out of range
+     */
+    public List<Item> search(String foldedQuery, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + MAX_DISTANCE);
+        }
+        List<String> words = TextFolding.words(foldedQuery);
+        if (words.isEmpty()) return List.of();
+        lock.readLock().lock();
+        try {
+            Set<String> ids = null;
+            for (String w : new LinkedHashSet<>(words)) {
+                Set<String> matched = new HashSet<>();
+                for (String term : lookup(w, maxDistance)) matched.addAll(postings.get(term));
+                if (ids == null) ids = matched;
+                else ids.retainAll(matched);
+                if (ids.isEmpty()) return List.of();
+            }
+            List<String> ordered = new ArrayList<>(ids);
+            ordered.sort((a, b) -> Long.compare(ordinals.get(a), ordinals.get(b)));
+            List<Item> out = new ArrayList<>(ordered.size());
+            for (String id : ordered) out.add(items.get(id));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the live dictionary terms within {@code maxDistance} of {@code word}.
+     *
+     * @param word        folded query word
+     * @param maxDistance maximum Levenshtein distance
+     * @return matching terms (never {@code null})
+     */
+    private List<String> lookup(String word, int maxDistance) {
+        List<String> out = new ArrayList<>();
+        if (root == null) return out;
+        int[] prev = new int[64];
+        int[] cur = new int[prev.length];
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node n = stack.remove(stack.size() - 1);
+            if (prev.length <= n.term.length()) {
+                prev = new int[n.term.length() + 1];
+                cur = new int[prev.length];
+            }
+            int d = distance(word, n.term, prev, cur);
+            if (d <= maxDistance && postings.containsKey(n.term)) out.add(n.term);
+            for (int edge = Math.max(1, d - maxDistance); edge <= d + maxDistance; edge++) {
+                Node child = n.children.get(edge);
+                if (child != null) stack.add(child);
+            }
+        }
+        return out;
+    }
+
+    private void put(Item item) {
+        if (items.put(item.id(), item) == null) {
+            ordinals.put(item.id(), nextOrdinal++);
+        }
+        Set<String> now = new HashSet<>(TextFolding.words(TextFolding.fold(item.name())));
+        now.addAll(TextFolding.words(TextFolding.fold(item.category())));
+        Set<String> old = termsOf.put(item.id(), now);
+        unlink(item.id(), old);
+        for (String term : now) {
+            Set<String> ids = postings.get(term);
+            if (ids == null) {
+                ids = new HashSet<>(2);
+                postings.put(term, ids);
+                insertTerm(term);
+            }
+            ids.add(item.id());
+        }
+    }
+
+    private void unlink(String id, Set<String> terms) {
+        if (terms == null) return;
+        for (String term : terms) {
+            Set<String> ids = postings.get(term);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) postings.remove(term);
+        }
+    }
+
+    /** Adds {@code term} to the BK-tree unless it is already there (possibly as a dead entry). */
+    private void insertTerm(String term) {
+        if (root == null) {
+            root = new Node(term);
+            treeSize = 1;
+            return;
+        }
+        int[] prev = new int[term.length() + 1];
+        int[] cur = new int[prev.length];
+        Node n = root;
+        while (true) {
+            if (prev.length <= n.term.length()) {
+                prev = new int[n.term.length() + 1];
+                cur = new int[prev.length];
+            }
+            int d = distance(term, n.term, prev, cur);
+            if (d == 0) return;
+            Node child = n.children.get(d);
+            if (child == null) {
+                n.children.put(d, new Node(term));
+                treeSize++;
+                return;
+            }
+            n = child;
+        }
+    }
+
+    /** Rebuilds the BK-tree from the live terms once dead entries outnumber them. */
+    private void rebuildIfSparse() {
+        if (treeSize <= 2 * postings.size() + 16) return;
+        root = null;
+        treeSize = 0;
+        for (String term : postings.keySet()) insertTerm(term);
+    }
+
+    /**
+     * Levenshtein distance using two caller-provided rows (each longer than {@code b}).
+     */
+    private static int distance(String a, String b, int[] prev, int[] cur) {
+        int m = b.length();
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return prev[m];
+    }
+}
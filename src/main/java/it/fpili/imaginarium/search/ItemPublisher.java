@@ -0,0 +1,144 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Cold {@link Flow.Publisher} streaming the items of an {@link OrderedItemIndex} that match a filter.
+ * <p>
+ * Each subscriber gets its own walk in repository order. Items are read by keyset in
+ * batches no larger than the outstanding demand (capped at {@link #BATCH_SIZE}), so the
+ * first match is delivered as soon as it is found, and a slow subscriber never causes
+ * more than one batch to be held in memory. Like paging, the walk is weakly consistent:
+ * items present for its whole duration are emitted exactly once.
+ * </p>
+ * <p>
+ * Signals for one subscriber are delivered serially on the given {@link Executor}; a
+ * request made from within {@code onNext} is handled by the running delivery loop
+ * instead of recursing.
+ * </p>
+ */
+public final class ItemPublisher implements Flow.Publisher<Item> {
+
+    /** Maximum number of entries read from the index at once. */
+    public static final int BATCH_SIZE = 64;
+
+    private final OrderedItemIndex index;
+    private final Predicate<OrderedItemIndex.Entry> filter;
+    private final Executor executor;
+
+    /**
+     * Creates a publisher.
+     *
+     * @param index    index to walk (must not be {@code null})
+     * @param filter   entry filter (must not be {@code null})
+     * @param executor executor delivering the signals (must not be {@code null})
+     */
+    public ItemPublisher(OrderedItemIndex index, Predicate<OrderedItemIndex.Entry> filter, Executor executor) {
+        this.index = Objects.requireNonNull(index, "index");
+        this.filter = Objects.requireNonNull(filter, "filter");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Item> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        Walk walk = new Walk(subscriber);
+        subscriber.onSubscribe(walk);
+    }
+
+    /** One subscriber's position, demand and delivery loop. */
+    private final class Walk implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Item> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private long after = -1;
+
+        Walk(Flow.Subscriber<? super Item> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive (§3.9)");
+            } else {
+                requested.getAndAccumulate(n, (cur, add) -> cur + add < 0 ? Long.MAX_VALUE : cur + add);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0) return;
+            try {
+                executor.execute(this);
+            } catch (RuntimeException e) {
+                cancelled = true;
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            while (true) {
+                if (drain()) {
+                    cancelled = true;
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) return;
+            }
+        }
+
+        /**
+         * Emits as many items as currently requested.
+         *
+         * @return {@code true} once the walk is over (completed, failed or cancelled)
+         */
+        private boolean drain() {
+            if (cancelled) return true;
+            if (invalidRequest != null) {
+                subscriber.onError(invalidRequest);
+                return true;
+            }
+            long r = requested.get();
+            long emitted = 0;
+            try {
+                while (emitted < r) {
+                    List<OrderedItemIndex.Entry> batch =
+                            index.page(after, (int) Math.min(r - emitted, BATCH_SIZE), filter);
+                    if (batch.isEmpty()) {
+                        subscriber.onComplete();
+                        return true;
+                    }
+                    for (OrderedItemIndex.Entry e : batch) {
+                        if (cancelled) return true;
+                        after = e.ordinal();
+                        subscriber.onNext(e.item());
+                        emitted++;
+                    }
+                }
+            } catch (RuntimeException e) {
+                subscriber.onError(e);
+                return true;
+            }
+            if (r != Long.MAX_VALUE) requested.addAndGet(-emitted);
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Items keyed by a stable ordinal in repository order, for keyset (cursor) pagination.
+ * <p>
+ * An item receives an ordinal when it is first inserted and keeps it across updates,
+ * mirroring the insertion order of the repository. Pages are read from a
+ * {@link ConcurrentSkipListMap} starting strictly after the last ordinal seen, so
+ * walking a catalog never copies it and concurrent writes cannot make an item that
+ * exists for the whole walk appear twice or be skipped.
+ * </p>
+ * <p>
+ * Each entry also carries the folded name and category, so filtered pages do not
+ * allocate per visited item. Kept current as a {@link RepositoryListener}; reads are
+ * lock-free and weakly consistent.
+ * </p>
+ */
+public final class OrderedItemIndex implements RepositoryListener<Item, String> {
+
+    /**
+     * An indexed item with its ordinal and pre-folded searchable fields.
+     *
+     * @param ordinal        stable position in repository order
+     * @param item           the item
+     * @param foldedName     name folded with {@link TextFolding#fold(String)}
+     * @param foldedCategory category folded with {@link TextFolding#fold(String)}
+     */
+    public record Entry(long ordinal, Item item, String foldedName, String foldedCategory) {
+
+        /**
+         * Tells whether the folded name or category contains {@code foldedToken}.
+         *
+         * @param foldedToken token already folded
+         * @return {@code true} on a match
+         */
+        public boolean contains(String foldedToken) {
+            return foldedName.contains(foldedToken) || foldedCategory.contains(foldedToken);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, Entry> byOrdinal = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> ordinalOf = new ConcurrentHashMap<>();
+    private long nextOrdinal;
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        byOrdinal.clear();
+        ordinalOf.clear();
+        nextOrdinal = 0;
+        for (Item it : snapshot) onSave(it);
+    }
+
+    @Override
+    public void onSave(Item item) {
+        Long ordinal = ordinalOf.get(item.id());
+        if (ordinal == null) {
+            ordinal = nextOrdinal++;
+            ordinalOf.put(item.id(), ordinal);
+        }
+        byOrdinal.put(ordinal, new Entry(ordinal, item,
+                TextFolding.fold(item.name()), TextFolding.fold(item.category())));
+    }
+
+    @Override
+    public void onDelete(String id) {
+        Long ordinal = ordinalOf.remove(id);
+        if (ordinal != null) byOrdinal.remove(ordinal);
+    }
+
+    /**
+     * Returns up to {@code limit} entries accepted by {@code filter}, strictly after {@code afterOrdinal}.
+     *
+     * @param afterOrdinal last ordinal already returned, or {@code -1} to start from the beginning
+     * @param limit        maximum number of entries (positive)
+     * @param filter       entry filter (must not be {@code null})
+     * @return matching entries in repository order (never {@code null})
+     */
+    public List<Entry> page(long afterOrdinal, int limit, Predicate<Entry> filter) {
+        List<Entry> out = new ArrayList<>(Math.min(limit, 256));
+        for (Entry e : byOrdinal.tailMap(afterOrdinal, false).values()) {
+            if (!filter.test(e)) continue;
+            out.add(e);
+            if (out.size() == limit) break;
+        }
+        return out;
+    }
+
+    /**
+     * Tells whether any entry exists after {@code ordinal}.
+     *
+     * @param ordinal ordinal to look after
+     * @return {@code true} if a later entry exists
+     */
+    public boolean hasAfter(long ordinal) {
+        return byOrdinal.higherKey(ordinal) != null;
+    }
+}
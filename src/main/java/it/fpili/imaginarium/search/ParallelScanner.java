@@ -0,0 +1,157 @@
+package it.fpili.imaginarium.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Fork-join scan engine for predicates that no index can serve.
+ * <p>
+ * The snapshot is split into fixed-size segments small enough to stay cache-resident.
+ * Segments are filtered in parallel on a {@link ForkJoinPool}, each into its own result
+ * slot, and the slots are concatenated once in segment order, so the output keeps the
+ * order of the input. Inputs below the sequential threshold are filtered on the calling
+ * thread, where fork-join overhead would outweigh the gain.
+ * </p>
+ * <p>
+ * A scanner created with an explicit parallelism owns its pool and must be {@link #close() closed}.
+ * </p>
+ */
+public final class ParallelScanner implements AutoCloseable {
+
+    /** Default number of elements below which the scan stays sequential. */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 50_000;
+
+    /** Default number of elements per segment (a few thousand references fit in L2). */
+    public static final int DEFAULT_SEGMENT_SIZE = 4_096;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int sequentialThreshold;
+    private final int segmentSize;
+
+    /** Creates a scanner on the common pool with default threshold and segment size. */
+    public ParallelScanner() {
+        this(ForkJoinPool.commonPool(), false, DEFAULT_SEQUENTIAL_THRESHOLD, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a scanner with its own pool.
+     *
+     * @param parallelism         number of worker threads (positive)
+     * @param sequentialThreshold inputs smaller than this are scanned sequentially (non-negative)
+     * @param segmentSize         elements per parallel segment (positive)
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public ParallelScanner(int parallelism, int sequentialThreshold, int segmentSize) {
+        this(newPool(parallelism, sequentialThreshold, segmentSize), true, sequentialThreshold, segmentSize);
+    }
+
+    private ParallelScanner(ForkJoinPool pool, boolean ownsPool, int sequentialThreshold, int segmentSize) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.sequentialThreshold = sequentialThreshold;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Returns the elements of {@code snapshot} accepted by {@code predicate}, in their original order.
+     *
+     * @param snapshot  elements to scan; must not change during the scan (e.g. an immutable list)
+     * @param predicate side-effect-free, thread-safe filter
+     * @param <T>       element type
+     * @return matching elements (never {@code null})
+     */
+    public <T> List<T> filter(List<T> snapshot, Predicate<? super T> predicate) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        Objects.requireNonNull(predicate, "predicate");
+        int n = snapshot.size();
+        if (n < sequentialThreshold || n <= segmentSize) {
+            List<T> out = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                T t = snapshot.get(i);
+                if (predicate.test(t)) out.add(t);
+            }
+            return out;
+        }
+
+        int segments = (n + segmentSize - 1) / segmentSize;
+        List<List<T>> parts = new ArrayList<>(segments);
+        for (int i = 0; i < segments; i++) parts.add(null);
+        pool.invoke(new SegmentTask<>(snapshot, predicate, parts, segmentSize, 0, segments));
+
+        int total = 0;
+        for (List<T> p : parts) total += p.size();
+        List<T> out = new ArrayList<>(total);
+        for (List<T> p : parts) out.addAll(p);
+        return out;
+    }
+
+    /** Releases the worker pool if it is owned by this scanner. */
+    @Override
+    public void close() {
+        if (ownsPool) pool.close();
+    }
+
+    /** Filters segments {@code [from, to)} into {@code parts}, splitting in halves. */
+    private static final class SegmentTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks never leave the JVM, so their state is not serialized.
+        private final transient List<T> snapshot;
+        private final transient Predicate<? super T> predicate;
+        private final transient List<List<T>> parts;
+        private final int segmentSize;
+        private final int from;
+        private final int to;
+
+        SegmentTask(List<T> snapshot, Predicate<? super T> predicate, List<List<T>> parts,
+                    int segmentSize, int from, int to) {
+            this.snapshot = snapshot;
+            this.predicate = predicate;
+            this.parts = parts;
+            this.segmentSize = segmentSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SegmentTask<>(snapshot, predicate, parts, segmentSize, from, mid),
+                        new SegmentTask<>(snapshot, predicate, parts, segmentSize, mid, to));
+                return;
+            }
+            int start = from * segmentSize;
+            int end = Math.min(start + segmentSize, snapshot.size());
+            List<T> out = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                T t = snapshot.get(i);
+                if (predicate.test(t)) out.add(t);
+            }
+            parts.set(from, out);
+        }
+    }
+
+    /** Validates every argument before creating the pool, so a bad argument never leaks worker threads. */
+    private static ForkJoinPool newPool(int parallelism, int sequentialThreshold, int segmentSize) {
+        requirePositive(parallelism, "parallelism");
+        requireNonNegative(sequentialThreshold, "sequentialThreshold");
+        requirePositive(segmentSize, "segmentSize");
+        return new ForkJoinPool(parallelism);
+    }
+
+    private static int requirePositive(int value, String name) {
+        if (value <= 0) throw new IllegalArgumentException(name + " must be positive");
+        return value;
+    }
+
+    private static int requireNonNegative(int value, String name) {
+        if (value < 0) throw new IllegalArgumentException(name + " must not be negative");
+        return value;
+    }
+}
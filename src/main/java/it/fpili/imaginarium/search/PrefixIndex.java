@@ -0,0 +1,315 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over the folded item names and categories, used for type-ahead suggestions.
+ * <p>
+ * Each distinct folded value is a term; its weight is the number of items carrying it
+ * (as name or as category). Every node also stores the best weight found in its subtree,
+ * so {@link #suggest(String, int)} walks to the prefix node and then expands the subtree
+ * best-first, visiting only the nodes needed to produce the top {@code k} completions.
+ * </p>
+ * <p>
+ * Edges are compressed (one node per branching point) and nodes with a single child are
+ * merged back on removal, keeping the structure compact. Kept current as a
+ * {@link RepositoryListener}; reads may run concurrently, writes are exclusive.
+ * </p>
+ */
+public final class PrefixIndex implements RepositoryListener<Item, String> {
+
+    /**
+     * Size information about the trie.
+     *
+     * @param terms          number of distinct terms
+     * @param nodes          number of trie nodes (including the root)
+     * @param estimatedBytes approximate heap usage, assuming compressed oops and 16-byte headers
+     */
+    public record Footprint(int terms, int nodes, long estimatedBytes) {}
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_KIDS = new Node[0];
+
+    /** Trie node; {@code label} is the compressed edge leading to it. */
+    private static final class Node {
+        String label;
+        char[] keys = NO_KEYS;
+        Node[] kids = NO_KIDS;
+        int count;
+        String display;
+        int best;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : kids[i];
+        }
+
+        void putChild(Node n) {
+            char c = n.label.charAt(0);
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                kids[i] = n;
+                return;
+            }
+            i = -i - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] d = new Node[kids.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(kids, 0, d, 0, i);
+            k[i] = c;
+            d[i] = n;
+            System.arraycopy(keys, i, k, i + 1, keys.length - i);
+            System.arraycopy(kids, i, d, i + 1, kids.length - i);
+            keys = k;
+            kids = d;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) return;
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                kids = NO_KIDS;
+                return;
+            }
+            char[] k = new char[keys.length - 1];
+            Node[] d = new Node[kids.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(kids, 0, d, 0, i);
+            System.arraycopy(keys, i + 1, k, i, keys.length - i - 1);
+            System.arraycopy(kids, i + 1, d, i, kids.length - i - 1);
+            keys = k;
+            kids = d;
+        }
+
+        void recomputeBest() {
+            int b = count;
+            for (Node n : kids) b = Math.max(b, n.best);
+            best = b;
+        }
+    }
+
+    /** Pending entry of the best-first expansion: either a subtree or a finished term. */
+    private record Candidate(String path, Node node, boolean terminal, int score) {}
+
+    private static final Comparator<Candidate> ORDER = Comparator
+            .comparingInt((Candidate c) -> -c.score())
+            .thenComparing(Candidate::path);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, String[]> termsOf = new HashMap<>();
+    private Node root = new Node("");
+    private int terms;
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            terms = 0;
+            termsOf.clear();
+            for (Item it : snapshot) put(it);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(String id) {
+        lock.writeLock().lock();
+        try {
+            String[] old = termsOf.remove(id);
+            if (old != null) {
+                for (String t : old) update(t, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code k} names or categories starting with {@code foldedPrefix},
+     * most frequent first (ties in alphabetical order of the folded term).
+     *
+     * @param foldedPrefix prefix already normalized with {@link TextFolding#fold(String)}
+     * @param k            maximum number of suggestions (positive)
+     * @return completions in their original spelling (never {@code null})
+     * @throws IllegalArgumentException if {@code k} is not positive
+     */
+    public List<String> suggest(String foldedPrefix, int k) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive");
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            StringBuilder path = new StringBuilder();
+            int i = 0;
+            while (i < foldedPrefix.length()) {
+                Node child = node.child(foldedPrefix.charAt(i));
+                if (child == null) return List.of();
+                int common = commonPrefix(child.label, foldedPrefix, i);
+                if (i + common < foldedPrefix.length() && common < child.label.length()) return List.of();
+                path.append(child.label);
+                node = child;
+                i += common;
+            }
+
+            List<String> out = new ArrayList<>(k);
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(ORDER);
+            queue.add(new Candidate(path.toString(), node, false, node.best));
+            while (!queue.isEmpty() && out.size() < k) {
+                Candidate c = queue.poll();
+                if (c.terminal()) {
+                    out.add(c.node().display);
+                    continue;
+                }
+                Node n = c.node();
+                if (n.count > 0) queue.add(new Candidate(c.path(), n, true, n.count));
+                for (Node kid : n.kids) queue.add(new Candidate(c.path() + kid.label, kid, false, kid.best));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reports the number of terms and nodes and an estimate of the heap used by the trie.
+     *
+     * @return footprint of the current trie
+     */
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            int nodes = 0;
+            long bytes = 0;
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node n = stack.pop();
+                nodes++;
+                bytes += 40;                                          // node header + fields
+                bytes += align(24) + align(16 + n.label.length());    // label String + its byte[]
+                if (n.keys.length > 0) bytes += align(16 + 2L * n.keys.length) + align(16 + 4L * n.kids.length);
+                for (Node kid : n.kids) stack.push(kid);
+            }
+            return new Footprint(terms, nodes, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Item item) {
+        String[] old = termsOf.get(item.id());
+        String[] now = {item.name(), item.category()};
+        if (old != null) {
+            for (String t : old) update(t, -1);
+        }
+        for (String t : now) update(t, +1);
+        termsOf.put(item.id(), now);
+    }
+
+    /** Adds ({@code delta > 0}) or removes one occurrence of {@code display}'s folded term. */
+    private void update(String display, int delta) {
+        String key = TextFolding.fold(display);
+        if (key.isEmpty()) return;
+
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) return;
+                child = new Node(key.substring(i));
+                node.putChild(child);
+                path.add(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                if (delta < 0) return;
+                Node mid = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.putChild(child);
+                mid.recomputeBest();
+                node.putChild(mid);
+                child = mid;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+
+        if (delta > 0) {
+            if (node.count == 0) {
+                terms++;
+                node.display = display;
+            }
+            node.count++;
+        } else {
+            if (node.count == 0) return;
+            if (--node.count == 0) {
+                terms--;
+                node.display = null;
+            }
+        }
+
+        for (int j = path.size() - 1; j >= 0; j--) {
+            Node n = path.get(j);
+            if (j > 0 && n.count == 0) {
+                if (n.kids.length == 0) {
+                    path.get(j - 1).removeChild(n.label.charAt(0));
+                    continue;
+                }
+                if (n.kids.length == 1) {
+                    Node only = n.kids[0];
+                    n.label = n.label + only.label;
+                    n.keys = only.keys;
+                    n.kids = only.kids;
+                    n.count = only.count;
+                    n.display = only.display;
+                }
+            }
+            n.recomputeBest();
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int max = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(from + i)) i++;
+        return i;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,107 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.util.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU cache of query results, tagged with the data version they were computed at.
+ * <p>
+ * A lookup only succeeds if the entry was stored for exactly the current version; an entry
+ * from an older version is dropped on sight and counted as an eviction. Callers read the
+ * version <em>before</em> computing a result and store it under that version, so a result
+ * can at worst be tagged older than the data it reflects, in which case it is never served.
+ * </p>
+ *
+ * @param <V> cached value type; values must be immutable
+ */
+public final class QueryResultCache<V> {
+
+    /** Cached value and the version it belongs to. */
+    private record Entry<V>(long version, V value) {}
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries maximum number of cached queries (positive)
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    public QueryResultCache(int maxEntries) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the value cached for {@code key} at {@code version}.
+     *
+     * @param key     normalized query
+     * @param version current data version
+     * @return the cached value, or {@code null} on a miss
+     */
+    public V get(String key, long version) {
+        lock.lock();
+        try {
+            Entry<V> e = entries.get(key);
+            if (e != null && e.version() != version) {
+                entries.remove(key);
+                evictions++;
+                e = null;
+            }
+            if (e == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return e.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores {@code value} for {@code key}, evicting the least recently used query when full.
+     * An entry already cached for a newer version is kept.
+     *
+     * @param key     normalized query
+     * @param version data version read before {@code value} was computed
+     * @param value   result to cache (must not be {@code null})
+     */
+    public void put(String key, long version, V value) {
+        Objects.requireNonNull(value, "value");
+        lock.lock();
+        try {
+            Entry<V> old = entries.get(key);
+            if (old != null && old.version() > version) return;
+            if (old == null && entries.size() >= maxEntries) {
+                entries.pollFirstEntry();
+                evictions++;
+            }
+            entries.put(key, new Entry<>(version, value));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current hit, miss and eviction counters.
+     *
+     * @return an immutable statistics snapshot
+     */
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits, misses, evictions, entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
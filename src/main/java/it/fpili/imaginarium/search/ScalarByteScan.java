@@ -0,0 +1,46 @@
+package it.fpili.imaginarium.search;
+
+/**
+ * Scalar {@link ByteScanKernel}, and the place where the best available kernel is selected.
+ */
+final class ScalarByteScan implements ByteScanKernel {
+
+    static final ScalarByteScan INSTANCE = new ScalarByteScan();
+
+    /** Selected once: the vector kernel is only loaded when its module is present. */
+    static final ByteScanKernel BEST = selectBest();
+
+    private ScalarByteScan() {}
+
+    @Override
+    public int next(byte[] data, int from, int to, byte[] needle) {
+        byte b0 = needle[0];
+        if (needle.length == 1) {
+            for (int i = from; i < to; i++) {
+                if (data[i] == b0) return i;
+            }
+            return -1;
+        }
+        byte b1 = needle[1];
+        for (int i = from; i + 1 < to; i++) {
+            if (data[i] == b0 && data[i + 1] == b1) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    private static ByteScanKernel selectBest() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return INSTANCE;
+        try {
+            // Loaded by name so that this class never links against the incubator module.
+            return (ByteScanKernel) Class.forName("it.fpili.imaginarium.search.VectorByteScan")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return INSTANCE;
+        }
+    }
+}
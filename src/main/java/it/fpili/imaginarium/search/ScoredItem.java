@@ -0,0 +1,11 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+
+/**
+ * An {@link Item} together with its relevance score for a ranked query.
+ *
+ * @param item  the matching item
+ * @param score relevance score (higher is better)
+ */
+public record ScoredItem(Item item, double score) {}
@@ -0,0 +1,49 @@
+package it.fpili.imaginarium.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text normalization shared by the search structures.
+ * <p>
+ * Indexed fields and queries must be folded the same way, otherwise an index and a
+ * linear scan would disagree. Folding is locale-independent ({@link Locale#ROOT}) so
+ * results do not depend on the JVM default locale.
+ * </p>
+ * This class is final and cannot be instantiated (utility-only).
+ */
+public final class TextFolding {
+    private TextFolding() {}
+
+    /**
+     * Folds text for case-insensitive matching.
+     *
+     * @param s text to fold (non-null)
+     * @return lower-cased text
+     */
+    public static String fold(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits folded text into words: maximal runs of letters and digits.
+     *
+     * @param folded text already normalized with {@link #fold(String)}
+     * @return words in order of appearance, possibly repeated (never {@code null})
+     */
+    public static List<String> words(String folded) {
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                out.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) out.add(folded.substring(start));
+        return out;
+    }
+}
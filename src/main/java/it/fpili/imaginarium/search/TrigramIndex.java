@@ -0,0 +1,281 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted trigram index over the folded name and category of each {@link Item}.
+ * <p>
+ * Every item is assigned a document number in insertion order; updates keep the number,
+ * so results come back in the same order as the repository. For each 3-character
+ * sequence of the folded fields a sorted postings list of document numbers is kept.
+ * </p>
+ * <p>
+ * A substring query of length three or more is answered by intersecting the postings of
+ * its trigrams (shortest list first) and verifying the few remaining candidates against
+ * the pre-folded fields. Shorter queries fall back to a scan of a {@link FoldedTextBuffer},
+ * a contiguous Latin-1 copy of the folded fields built on the first such query after a write
+ * and scanned by the fastest available {@link ByteScanKernel}. Neither path allocates per item.
+ * </p>
+ * <p>
+ * The index is kept current as a {@link RepositoryListener}. Reads may run concurrently;
+ * writes are exclusive.
+ * </p>
+ */
+public final class TrigramIndex implements RepositoryListener<Item, String> {
+
+    /** Growable sorted set of document numbers. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == docs.length) docs = Arrays.copyOf(docs, size * 2);
+            System.arraycopy(docs, pos, docs, pos + 1, size - pos);
+            docs[pos] = doc;
+            size++;
+        }
+
+        void remove(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos < 0) return;
+            System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+            size--;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docOf = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private Item[] items = new Item[16];
+    private String[] names = new String[16];
+    private String[] categories = new String[16];
+    private int nextDoc;
+    /** Contiguous copy of the folded fields for short-query scans; {@code null} after a write. */
+    private FoldedTextBuffer scanBuffer;
+
+    @Override
+    public void onReload(List<Item> snapshot) {
+        lock.writeLock().lock();
+        try {
+            docOf.clear();
+            postings.clear();
+            items = new Item[Math.max(16, snapshot.size())];
+            names = new String[items.length];
+            categories = new String[items.length];
+            nextDoc = 0;
+            scanBuffer = null;
+            for (Item it : snapshot) put(it);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.remove(id);
+            if (doc == null) return;
+            unindex(doc);
+            scanBuffer = null;
+            items[doc] = null;
+            names[doc] = null;
+            categories[doc] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the items whose folded name or category contains {@code foldedQuery}.
+     *
+     * @param foldedQuery query already normalized with {@link TextFolding#fold(String)}
+     * @return matching items in repository order (never {@code null})
+     */
+    public List<Item> search(String foldedQuery) {
+        if (foldedQuery.length() < 3) return scan(foldedQuery);
+        lock.readLock().lock();
+        try {
+            List<Item> out = new ArrayList<>();
+            int[] candidates = candidates(foldedQuery);
+            for (int d : candidates) {
+                if (matches(d, foldedQuery)) out.add(items[d]);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Serves a short query from the scan buffer, building it first if a write discarded it. */
+    private List<Item> scan(String foldedQuery) {
+        lock.readLock().lock();
+        try {
+            if (scanBuffer != null) return collect(scanBuffer.find(foldedQuery));
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (scanBuffer == null) {
+                FoldedTextBuffer.Builder b = new FoldedTextBuffer.Builder(docOf.size());
+                for (int d = 0; d < nextDoc; d++) {
+                    if (items[d] != null) b.add(d, names[d], categories[d]);
+                }
+                scanBuffer = b.build();
+            }
+            return collect(scanBuffer.find(foldedQuery));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Item> collect(int[] found) {
+        List<Item> out = new ArrayList<>(found.length);
+        for (int d : found) out.add(items[d]);
+        return out;
+    }
+
+    /**
+     * Returns an upper bound of the number of items {@link #search(String)} would return,
+     * without verifying candidates: the length of the shortest postings list of the query's
+     * trigrams, or the index size for queries shorter than three characters.
+     *
+     * @param foldedQuery query already normalized with {@link TextFolding#fold(String)}
+     * @return estimated result size
+     */
+    public int estimate(String foldedQuery) {
+        lock.readLock().lock();
+        try {
+            if (foldedQuery.length() < 3) return docOf.size();
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i + 3 <= foldedQuery.length(); i++) {
+                Postings p = postings.get(key(foldedQuery, i));
+                if (p == null) return 0;
+                min = Math.min(min, p.size);
+            }
+            return min;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of items currently indexed.
+     *
+     * @return indexed item count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Intersects the postings of every trigram of {@code q}, shortest list first. */
+    private int[] candidates(String q) {
+        List<Postings> lists = new ArrayList<>(q.length() - 2);
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Postings p = postings.get(key(q, i));
+            if (p == null) return new int[0];
+            if (!lists.contains(p)) lists.add(p);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        Postings smallest = lists.get(0);
+        int[] result = Arrays.copyOf(smallest.docs, smallest.size);
+        int n = result.length;
+        for (int l = 1; l < lists.size() && n > 0; l++) {
+            Postings other = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < n; i++) {
+                if (other.contains(result[i])) result[kept++] = result[i];
+            }
+            n = kept;
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private boolean matches(int doc, String q) {
+        return names[doc].contains(q) || categories[doc].contains(q);
+    }
+
+    /** Inserts or replaces {@code item}, keeping its document number on update. */
+    private void put(Item item) {
+        scanBuffer = null;
+        Integer existing = docOf.get(item.id());
+        int doc;
+        if (existing != null) {
+            doc = existing;
+            unindex(doc);
+        } else {
+            doc = nextDoc++;
+            if (doc == items.length) grow();
+            docOf.put(item.id(), doc);
+        }
+        items[doc] = item;
+        names[doc] = TextFolding.fold(item.name());
+        categories[doc] = TextFolding.fold(item.category());
+        addTrigrams(names[doc], doc);
+        addTrigrams(categories[doc], doc);
+    }
+
+    private void unindex(int doc) {
+        removeTrigrams(names[doc], doc);
+        removeTrigrams(categories[doc], doc);
+    }
+
+    private void addTrigrams(String s, int doc) {
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            postings.computeIfAbsent(key(s, i), k -> new Postings()).add(doc);
+        }
+    }
+
+    private void removeTrigrams(String s, int doc) {
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            long k = key(s, i);
+            Postings p = postings.get(k);
+            if (p == null) continue;
+            p.remove(doc);
+            if (p.size == 0) postings.remove(k);
+        }
+    }
+
+    private void grow() {
+        int cap = items.length * 2;
+        items = Arrays.copyOf(items, cap);
+        names = Arrays.copyOf(names, cap);
+        categories = Arrays.copyOf(categories, cap);
+    }
+
+    /** Packs the three UTF-16 units starting at {@code i} into one key. */
+    private static long key(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
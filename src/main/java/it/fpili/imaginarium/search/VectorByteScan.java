@@ -0,0 +1,42 @@
+package it.fpili.imaginarium.search;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ByteScanKernel} using the incubating Vector API.
+ * <p>
+ * Each step loads one vector at {@code i} and, for two-byte needles, one at {@code i + 1},
+ * compares every lane with the needle's first (and second) byte and combines the masks,
+ * so a whole vector of candidate positions is tested at once. The tail shorter than a
+ * vector is handled by the scalar kernel. Only instantiated through {@link ByteScanKernel#best()}.
+ * </p>
+ */
+final class VectorByteScan implements ByteScanKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    VectorByteScan() {}
+
+    @Override
+    public int next(byte[] data, int from, int to, byte[] needle) {
+        int lanes = SPECIES.length();
+        int extra = needle.length > 1 ? 1 : 0;
+        int i = from;
+        for (; i + lanes + extra <= to; i += lanes) {
+            VectorMask<Byte> m = ByteVector.fromArray(SPECIES, data, i).compare(VectorOperators.EQ, needle[0]);
+            if (extra == 1 && m.anyTrue()) {
+                m = m.and(ByteVector.fromArray(SPECIES, data, i + 1).compare(VectorOperators.EQ, needle[1]));
+            }
+            if (m.anyTrue()) return i + m.firstTrue();
+        }
+        return ScalarByteScan.INSTANCE.next(data, i, to, needle);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
@@ -0,0 +1,101 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.util.AsyncTasks;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Asynchronous facade over {@link CatalogService}.
+ * <p>
+ * Operations keep the same validation and persistence semantics as the blocking service
+ * but return {@link CompletableFuture}s executed on a virtual-thread-per-task executor.
+ * A server frontend can therefore issue many concurrent catalog operations without a
+ * platform-thread pool and without blocking its own threads on disk writes.
+ * </p>
+ * <p>
+ * Failures complete the future exceptionally with the original
+ * {@link it.fpili.imaginarium.exception.ApplicationException}.
+ * </p>
+ */
+public final class AsyncCatalogService implements AutoCloseable {
+    private final CatalogService service;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an asynchronous service running on a new virtual-thread-per-task executor.
+     *
+     * @param service blocking service to delegate to (must not be {@code null})
+     */
+    public AsyncCatalogService(CatalogService service) {
+        this(service, AsyncTasks.newVirtualThreadExecutor());
+    }
+
+    /**
+     * Creates an asynchronous service running on the given executor.
+     *
+     * @param service  blocking service to delegate to (must not be {@code null})
+     * @param executor executor owned by this service (must not be {@code null})
+     */
+    public AsyncCatalogService(CatalogService service, ExecutorService executor) {
+        this.service = Objects.requireNonNull(service, "service must not be null");
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+    }
+
+    /**
+     * Asynchronous variant of {@link CatalogService#upsertItem(String, String, String, String)}.
+     *
+     * @param id          unique identifier (max 40)
+     * @param name        display name (max 80)
+     * @param category    category label (max 80)
+     * @param description short description (max 200)
+     * @return a future completed once the item has been saved
+     */
+    public CompletableFuture<Void> upsertItem(String id, String name, String category, String description) {
+        return AsyncTasks.submit(() -> {
+            service.upsertItem(id, name, category, description);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link CatalogService#deleteItem(String)}.
+     *
+     * @param id identifier to delete (max 40)
+     * @return a future completed once the item has been deleted
+     */
+    public CompletableFuture<Void> deleteItem(String id) {
+        return AsyncTasks.submit(() -> {
+            service.deleteItem(id);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link CatalogService#searchByToken(String)}.
+     *
+     * @param token search token (max 80)
+     * @return a future completed with the matching items
+     */
+    public CompletableFuture<List<Item>> searchByToken(String token) {
+        return AsyncTasks.submit(() -> service.searchByToken(token), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link CatalogService#findAll()}.
+     *
+     * @return a future completed with a snapshot of all items
+     */
+    public CompletableFuture<List<Item>> findAll() {
+        return AsyncTasks.submit(service::findAll, executor);
+    }
+
+    /** Waits for already submitted operations and releases the executor. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
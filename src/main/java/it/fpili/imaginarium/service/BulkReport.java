@@ -0,0 +1,30 @@
+package it.fpili.imaginarium.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk validation run.
+ *
+ * @param accepted number of records that passed validation and were handed to the sink
+ * @param errors   rejected records, in input order (never {@code null})
+ */
+public record BulkReport(long accepted, List<RecordError> errors) {
+
+    /**
+     * A record rejected by validation.
+     *
+     * @param index   zero-based position of the record in the input
+     * @param message reason, prefixed by the offending field (e.g. {@code "name: Input cannot be empty"})
+     */
+    public record RecordError(long index, String message) {}
+
+    /** @return number of rejected records */
+    public long rejected() {
+        return errors.size();
+    }
+
+    /** @return number of records read */
+    public long total() {
+        return accepted + errors.size();
+    }
+}
@@ -0,0 +1,153 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.factory.UserInputItemCreator;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.util.AsyncTasks;
+import it.fpili.imaginarium.util.InputSanitizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Sanitizes and validates many raw records in parallel chunks.
+ * <p>
+ * Records are read from the input stream in chunks of {@code chunkSize}; each chunk is
+ * validated on the executor with the same rules as {@link CatalogService#upsertItem}.
+ * A record that fails is recorded in the {@link BulkReport} instead of aborting the run.
+ * The valid items of each chunk are handed to a {@link BatchSink} on the calling thread,
+ * in input order. At most {@code maxInFlight} chunks are pending at once, so memory stays
+ * bounded however long the input is.
+ * </p>
+ */
+public final class BulkValidator {
+
+    /** Default number of records validated as one task. */
+    public static final int DEFAULT_CHUNK_SIZE = 1_024;
+
+    /**
+     * Receives each batch of valid items, e.g. {@code repository::saveAll}.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        /**
+         * Accepts one batch.
+         *
+         * @param items valid items, in input order
+         * @throws ApplicationException if the batch cannot be stored
+         */
+        void accept(List<Item> items) throws ApplicationException;
+    }
+
+    /** Validation result of one chunk. */
+    private record Chunk(List<Item> items, List<BulkReport.RecordError> errors) {}
+
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    /** Creates a validator on the common fork-join pool, sized to the available cores. */
+    public BulkValidator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a validator.
+     *
+     * @param executor    executor running the chunk validations (must not be {@code null})
+     * @param chunkSize   records per chunk (positive)
+     * @param maxInFlight maximum number of chunks pending at once (positive)
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public BulkValidator(Executor executor, int chunkSize, int maxInFlight) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Validates every record of {@code records} and passes the valid items to {@code sink}.
+     *
+     * @param records raw records (consumed sequentially; must not be {@code null})
+     * @param sink    receiver of valid items, called once per non-empty chunk (must not be {@code null})
+     * @return accepted count and per-record errors
+     * @throws ApplicationException if the sink fails; validation errors never abort the run
+     */
+    public BulkReport run(Stream<RawRecord> records, BatchSink sink) throws ApplicationException {
+        Objects.requireNonNull(records, "records");
+        Objects.requireNonNull(sink, "sink");
+        Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+        List<BulkReport.RecordError> errors = new ArrayList<>();
+        long accepted = 0;
+        long index = 0;
+
+        Iterator<RawRecord> it = records.iterator();
+        while (it.hasNext()) {
+            List<RawRecord> batch = new ArrayList<>(chunkSize);
+            while (batch.size() < chunkSize && it.hasNext()) batch.add(it.next());
+            long first = index;
+            index += batch.size();
+            pending.add(AsyncTasks.submit(() -> validate(batch, first), executor));
+            if (pending.size() >= maxInFlight) accepted += drainOne(pending, sink, errors);
+        }
+        while (!pending.isEmpty()) accepted += drainOne(pending, sink, errors);
+        return new BulkReport(accepted, List.copyOf(errors));
+    }
+
+    /**
+     * Sanitizes one record with the rules of {@link CatalogService#upsertItem}.
+     *
+     * @param r raw record
+     * @return the validated item
+     * @throws InputValidationException naming the first offending field
+     */
+    static Item toItem(RawRecord r) throws InputValidationException {
+        String id = field("id", r.id(), 40);
+        String name = field("name", r.name(), 80);
+        String category = field("category", r.category(), 80);
+        String description = field("description", r.description(), 200);
+        return new UserInputItemCreator(id, name, category, description).build();
+    }
+
+    private static String field(String label, String raw, int maxLen) throws InputValidationException {
+        if (raw == null) throw new InputValidationException(label + ": missing");
+        try {
+            return InputSanitizer.sanitizeLine(raw, maxLen);
+        } catch (InputValidationException e) {
+            throw new InputValidationException(label + ": " + e.getMessage());
+        }
+    }
+
+    private static Chunk validate(List<RawRecord> batch, long firstIndex) {
+        List<Item> items = new ArrayList<>(batch.size());
+        List<BulkReport.RecordError> errors = new ArrayList<>(0);
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                items.add(toItem(batch.get(i)));
+            } catch (InputValidationException | RuntimeException e) {
+                errors.add(new BulkReport.RecordError(firstIndex + i, e.getMessage()));
+            }
+        }
+        return new Chunk(items, errors);
+    }
+
+    /** Waits for the oldest chunk, records its errors and sinks its items. */
+    private static long drainOne(Deque<CompletableFuture<Chunk>> pending, BatchSink sink,
+                                 List<BulkReport.RecordError> errors) throws ApplicationException {
+        Chunk c = pending.removeFirst().join();
+        errors.addAll(c.errors());
+        if (!c.items().isEmpty()) sink.accept(c.items());
+        return c.items().size();
+    }
+}
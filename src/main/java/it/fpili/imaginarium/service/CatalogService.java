@@ -1,14 +1,40 @@
 package it.fpili.imaginarium.service;
 
 import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.InputValidationException;
 import it.fpili.imaginarium.factory.UserInputItemCreator;
 import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.ObservableRepository;
 import it.fpili.imaginarium.persistence.Repository;
+import it.fpili.imaginarium.persistence.VersionedRepository;
+import it.fpili.imaginarium.search.Bm25Index;
+import it.fpili.imaginarium.search.CategoryIndex;
+import it.fpili.imaginarium.search.FacetCounter;
+import it.fpili.imaginarium.search.FuzzyIndex;
+import it.fpili.imaginarium.search.ItemPublisher;
+import it.fpili.imaginarium.search.OrderedItemIndex;
+import it.fpili.imaginarium.search.ParallelScanner;
+import it.fpili.imaginarium.search.PrefixIndex;
+import it.fpili.imaginarium.search.QueryResultCache;
+import it.fpili.imaginarium.search.ScoredItem;
+import it.fpili.imaginarium.search.TextFolding;
+import it.fpili.imaginarium.search.TrigramIndex;
+import it.fpili.imaginarium.util.CacheStats;
 import it.fpili.imaginarium.util.InputSanitizer;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Application service exposing high-level catalog operations.
@@ -22,9 +48,36 @@ import java.util.stream.Collectors;
  * This layer also demonstrates use of the Factory Method pattern via
  * {@link UserInputItemCreator}.
  * </p>
+ * <p>
+ * Writes go through an {@link ObservableRepository}, which keeps the search indexes
+ * up to date incrementally. The indexes are built lazily from a repository snapshot
+ * on the first search, so creating the service never touches the backend.
+ * </p>
  */
 public final class CatalogService {
-    private final Repository<Item, String> repo;
+    /** Edit distance used by {@link #searchFuzzy(String)}. */
+    public static final int DEFAULT_FUZZY_DISTANCE = 2;
+
+    /** Number of distinct tokens whose {@link #searchByToken(String)} results are cached. */
+    public static final int SEARCH_CACHE_SIZE = 256;
+
+    /** Runs each streaming delivery loop on its own virtual thread. */
+    private static final Executor STREAM_EXECUTOR = Thread::startVirtualThread;
+
+    private final Repository<Item, String> backend;
+    private final ObservableRepository<Item, String> repo;
+    private final ParallelScanner scanner;
+    private final TrigramIndex textIndex = new TrigramIndex();
+    private final PrefixIndex prefixIndex = new PrefixIndex();
+    private final FuzzyIndex fuzzyIndex = new FuzzyIndex();
+    private final Bm25Index rankedIndex = new Bm25Index();
+    private final OrderedItemIndex orderedIndex = new OrderedItemIndex();
+    private final FacetCounter facets = new FacetCounter();
+    private final CategoryIndex categoryIndex = new CategoryIndex();
+    private final QueryPlanner planner;
+    private final QueryResultCache<List<Item>> searchCache = new QueryResultCache<>(SEARCH_CACHE_SIZE);
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private volatile boolean indexed;
 
     /**
      * Creates a new {@code CatalogService}.
@@ -33,7 +86,21 @@ public final class CatalogService {
      * @throws NullPointerException if {@code repo} is {@code null}
      */
     public CatalogService(Repository<Item, String> repo) { // Catalog Service constructor
-        this.repo = Objects.requireNonNull(repo, "repo must not be null");
+        this(repo, new ParallelScanner());
+    }
+
+    /**
+     * Creates a new {@code CatalogService} with a custom scan engine for ad-hoc predicates.
+     *
+     * @param repo    backing repository (must not be {@code null})
+     * @param scanner scan engine used by {@link #searchWhere(Predicate)} (must not be {@code null})
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public CatalogService(Repository<Item, String> repo, ParallelScanner scanner) {
+        this.backend = Objects.requireNonNull(repo, "repo must not be null");
+        this.repo = new ObservableRepository<>(repo, Item::id);
+        this.scanner = Objects.requireNonNull(scanner, "scanner must not be null");
+        this.planner = new QueryPlanner(this.repo, textIndex, categoryIndex);
     }
 
     /**
@@ -54,6 +121,54 @@ public final class CatalogService {
         repo.save(new UserInputItemCreator(sid, sname, scat, sdesc).build());
     }
 
+    /**
+     * Creates or updates many items at once.
+     * Records are sanitized in parallel chunks with the same rules as
+     * {@link #upsertItem(String, String, String, String)}; invalid records are reported
+     * instead of aborting the import, and the valid ones are saved one batch per chunk.
+     *
+     * @param records raw records (consumed once)
+     * @return accepted count and per-record errors
+     * @throws ApplicationException if persistence fails
+     */
+    public BulkReport upsertAll(Stream<RawRecord> records) throws ApplicationException {
+        return upsertAll(records, new BulkValidator());
+    }
+
+    /**
+     * Same as {@link #upsertAll(Stream)} with a custom validator (executor, chunk size).
+     *
+     * @param records   raw records (consumed once)
+     * @param validator validation pipeline (must not be {@code null})
+     * @return accepted count and per-record errors
+     * @throws ApplicationException if persistence fails
+     */
+    public BulkReport upsertAll(Stream<RawRecord> records, BulkValidator validator) throws ApplicationException {
+        Objects.requireNonNull(validator, "validator must not be null");
+        return validator.run(records, repo::saveAll);
+    }
+
+    /**
+     * Imports a CSV or JSON file into the catalog.
+     * <p>
+     * The file is streamed; records are sanitized in parallel with the rules of
+     * {@link #upsertItem(String, String, String, String)}, ids already in the catalog (or earlier
+     * in the file) are resolved by {@code policy}, and accepted items are committed in large
+     * batches. Invalid rows are reported, not fatal. The import is not atomic: on failure the
+     * batches committed so far are kept.
+     * </p>
+     *
+     * @param file   {@code .csv} file (repository layout, header optional) or {@code .json} file
+     *               (array of objects or {@code {"data":[...]}})
+     * @param policy conflict policy for duplicate ids (must not be {@code null})
+     * @return rows read, imported, skipped and rejected, with the elapsed time
+     * @throws InputValidationException if the format is unsupported or {@link ConflictPolicy#FAIL} meets a duplicate
+     * @throws ApplicationException     if reading the file or persisting fails
+     */
+    public ImportReport importFile(Path file, ConflictPolicy policy) throws ApplicationException {
+        return new ItemImporter(repo).run(file, policy);
+    }
+
     /**
      * Deletes an item by ID (sanitized defensively).
      *
@@ -67,16 +182,220 @@ public final class CatalogService {
 
     /**
      * Finds items whose name or category contains the given token (case-insensitive).
+     * <p>
+     * Served by the {@link TrigramIndex}: postings of the token's trigrams are intersected
+     * and only the surviving candidates are verified, instead of scanning every item.
+     * Results are cached per normalized token and tagged with the repository version,
+     * so any write makes every cached result stale.
+     * </p>
      *
      * @param token search token (max 80)
-     * @return list of matching items (never {@code null})
+     * @return immutable list of matching items in repository order (never {@code null})
      * @throws ApplicationException if repository access fails or validation rejects input
      */
     public List<Item> searchByToken(String token) throws ApplicationException {
-        String t = InputSanitizer.sanitizeLine(token, 80).toLowerCase(); // Take input from user and sanitize it
-        return repo.findAll().stream() // Ask the repo for all items
-                .filter(i -> i.name().toLowerCase().contains(t) || i.category().toLowerCase().contains(t)) // For each item, filter by name or category to check if it matches the search token
-                .collect(Collectors.toList()); // Collect results into a list
+        String t = TextFolding.fold(InputSanitizer.sanitizeLine(token, 80)); // Take input from user and sanitize it
+        ensureIndexed();
+        long version = repo.version(); // read before searching, see QueryResultCache
+        List<Item> cached = searchCache.get(t, version);
+        if (cached != null) return cached;
+        List<Item> found = List.copyOf(textIndex.search(t));
+        searchCache.put(t, version, found);
+        return found;
+    }
+
+    /**
+     * Runs a field-aware query such as {@code category:Cane name:rh* -desc:piccolo}
+     * (see {@link Query} for the syntax). The most selective index drives the query and the
+     * remaining terms are checked cheapest first; see {@link #explain(String)}.
+     *
+     * @param query query text
+     * @return matching items in repository order (never {@code null})
+     * @throws ApplicationException if repository access fails or the query is invalid
+     */
+    public List<Item> query(String query) throws ApplicationException {
+        Query q = Query.parse(query);
+        ensureIndexed();
+        return planner.execute(planner.plan(q));
+    }
+
+    /**
+     * Returns the plan {@link #query(String)} would run for {@code query}, without running it.
+     *
+     * @param query query text
+     * @return the chosen plan; {@link QueryPlan#explain()} renders it
+     * @throws ApplicationException if repository access fails or the query is invalid
+     */
+    public QueryPlan explain(String query) throws ApplicationException {
+        Query q = Query.parse(query);
+        ensureIndexed();
+        return planner.plan(q);
+    }
+
+    /**
+     * Same as {@link #searchByToken(String)}, with the matches counted per category
+     * in the same pass over the result.
+     *
+     * @param token search token (max 80)
+     * @return matching items and their category counts (never {@code null})
+     * @throws ApplicationException if repository access fails or validation rejects input
+     */
+    public FacetedResult<Item> searchWithFacets(String token) throws ApplicationException {
+        List<Item> found = searchByToken(token);
+        return new FacetedResult<>(found, FacetCounter.count(found));
+    }
+
+    /**
+     * Returns the number of items in each category of the whole catalog.
+     * The counts are maintained on every write, so this costs O(number of categories).
+     * Items without a category are counted under {@link FacetCounter#UNCATEGORIZED}.
+     *
+     * @return immutable map from category label to item count, in first-seen order
+     * @throws ApplicationException if repository access fails
+     */
+    public Map<String, Integer> categoryCounts() throws ApplicationException {
+        ensureIndexed();
+        return facets.counts();
+    }
+
+    /**
+     * Reports hit, miss and eviction counters of the {@link #searchByToken(String)} result cache.
+     *
+     * @return an immutable statistics snapshot
+     */
+    public CacheStats searchCacheStats() {
+        return searchCache.stats();
+    }
+
+    /**
+     * Ranked search over name, category and description.
+     * Items containing any word of {@code token} are scored with BM25 (name and category
+     * matches weigh more than description matches) and only the best {@code k} are returned.
+     *
+     * @param token search words (max 80)
+     * @param k     maximum number of results (positive)
+     * @return results ordered by decreasing relevance (never {@code null})
+     * @throws ApplicationException if repository access fails or validation rejects input
+     * @throws IllegalArgumentException if {@code k} is not positive
+     */
+    public List<ScoredItem> searchRanked(String token, int k) throws ApplicationException {
+        String t = TextFolding.fold(InputSanitizer.sanitizeLine(token, 80));
+        ensureIndexed();
+        return rankedIndex.search(t, k);
+    }
+
+    /**
+     * Typo-tolerant search using {@link #DEFAULT_FUZZY_DISTANCE}.
+     *
+     * @param token search words (max 80)
+     * @return matching items in repository order (never {@code null})
+     * @throws ApplicationException if repository access fails or validation rejects input
+     * @see #searchFuzzy(String, int)
+     */
+    public List<Item> searchFuzzy(String token) throws ApplicationException {
+        return searchFuzzy(token, DEFAULT_FUZZY_DISTANCE);
+    }
+
+    /**
+     * Typo-tolerant search: every word of {@code token} must be within {@code maxDistance}
+     * edits of some word of the item's name or category (case-insensitive).
+     * Served by a BK-tree over the word dictionary, not by a scan of the catalog.
+     *
+     * @param token       search words (max 80)
+     * @param maxDistance maximum Levenshtein distance per word, in {@code [0, FuzzyIndex.MAX_DISTANCE]}
+     * @return matching items in repository order (never {@code null})
+     * @throws ApplicationException if repository access fails or validation rejects input
+     * @throws IllegalArgumentException if {@code maxDistance} is out of range
+     */
+    public List<Item> searchFuzzy(String token, int maxDistance) throws ApplicationException {
+        String t = TextFolding.fold(InputSanitizer.sanitizeLine(token, 80));
+        ensureIndexed();
+        return fuzzyIndex.search(t, maxDistance);
+    }
+
+    /**
+     * Suggests up to {@code k} item names or categories starting with {@code prefix}
+     * (case-insensitive), most frequent first. Intended for type-ahead on every keystroke.
+     *
+     * @param prefix typed prefix (max 80)
+     * @param k      maximum number of suggestions (positive)
+     * @return completions in their original spelling (never {@code null})
+     * @throws ApplicationException if repository access fails or validation rejects input
+     * @throws IllegalArgumentException if {@code k} is not positive
+     */
+    public List<String> suggest(String prefix, int k) throws ApplicationException {
+        String p = TextFolding.fold(InputSanitizer.sanitizeLine(prefix, 80));
+        ensureIndexed();
+        return prefixIndex.suggest(p, k);
+    }
+
+    /**
+     * Reports the size of the autocomplete structure behind {@link #suggest(String, int)}.
+     *
+     * @return term/node counts and estimated heap usage
+     * @throws ApplicationException if repository access fails
+     */
+    public PrefixIndex.Footprint suggestFootprint() throws ApplicationException {
+        ensureIndexed();
+        return prefixIndex.footprint();
+    }
+
+    /**
+     * Returns the items saved after {@code version}, oldest change first, so that a consumer
+     * (export, replica, external index) can process only what changed since its last run.
+     * <p>
+     * Served by the backend's version index when it is a {@link VersionedRepository};
+     * otherwise the items are filtered and sorted by {@link Item#version()}.
+     * Deleted items are not reported.
+     * </p>
+     *
+     * @param version last version already processed ({@code 0} for everything)
+     * @return changed items in version order (never {@code null})
+     * @throws ApplicationException if repository access fails
+     */
+    public List<Item> findModifiedSince(long version) throws ApplicationException {
+        if (backend instanceof VersionedRepository<Item, String> versioned) {
+            return versioned.findModifiedSince(version);
+        }
+        List<Item> changed = new ArrayList<>(repo.findMatching(it -> it.version() > version));
+        changed.sort(Comparator.comparingLong(Item::version));
+        return changed;
+    }
+
+    /**
+     * Returns the highest item version assigned so far, the starting point to pass later to
+     * {@link #findModifiedSince(long)}.
+     * <p>
+     * Served by the backend when it is a {@link VersionedRepository}; otherwise the highest
+     * {@link Item#version()} in the catalog.
+     * </p>
+     *
+     * @return latest item version, {@code 0} if no item was ever stamped
+     * @throws ApplicationException if repository access fails
+     */
+    public long currentVersion() throws ApplicationException {
+        if (backend instanceof VersionedRepository<Item, String> versioned) {
+            return versioned.currentVersion();
+        }
+        long max = 0;
+        for (Item it : repo.findAll()) max = Math.max(max, it.version());
+        return max;
+    }
+
+    /**
+     * Returns the number of successful write calls made through this service (saves, bulk
+     * upserts, imports and deletions), so derived artifacts such as exports can tell whether
+     * they are still current.
+     * <p>
+     * This is not an item version: it counts a whole batch as one write, includes deletions,
+     * is kept in memory only and restarts at {@code 0} with every service. Use
+     * {@link #currentVersion()} with {@link #findModifiedSince(long)}.
+     * </p>
+     *
+     * @return monotonically increasing write counter, starting at {@code 0}
+     */
+    public long writeCount() {
+        return repo.version();
     }
 
     /**
@@ -88,4 +407,174 @@ public final class CatalogService {
     public List<Item> findAll() throws ApplicationException {
         return repo.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the items accepted by an arbitrary predicate that no index can serve.
+     * The snapshot is scanned in parallel segments by the {@link ParallelScanner};
+     * results keep repository order.
+     *
+     * @param predicate side-effect-free, thread-safe filter (must not be {@code null})
+     * @return matching items (never {@code null})
+     * @throws ApplicationException if repository access fails
+     */
+    public List<Item> searchWhere(Predicate<? super Item> predicate) throws ApplicationException {
+        Objects.requireNonNull(predicate, "predicate must not be null");
+        return scanner.filter(repo.findAll(), predicate);
+    }
+
+    /**
+     * Returns one page of the catalog in repository order.
+     * <p>
+     * Pages are read by keyset from the position encoded in {@code cursor}, so walking a
+     * large catalog keeps memory per request proportional to {@code limit}. Items present
+     * for the whole walk are returned exactly once even if other items are written meanwhile.
+     * </p>
+     *
+     * @param limit  maximum number of items in the page (positive)
+     * @param cursor {@link Page#nextCursor()} of the previous page, or {@code null} for the first page
+     * @return the page and the cursor of the next one
+     * @throws ApplicationException if repository access fails or the cursor is invalid
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public Page<Item> findPage(int limit, String cursor) throws ApplicationException {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        long after = decodeCursor(cursor);
+        ensureIndexed();
+        List<OrderedItemIndex.Entry> entries = orderedIndex.page(after, limit, e -> true);
+        if (entries.isEmpty()) return new Page<>(List.of(), null);
+        long last = entries.get(entries.size() - 1).ordinal();
+        String next = entries.size() == limit && orderedIndex.hasAfter(last) ? encodeCursor(last) : null;
+        return new Page<>(toItems(entries), next);
+    }
+
+    /**
+     * Returns one page of the items matching {@code token}, with the same semantics as
+     * {@link #searchByToken(String)} and the same cursor rules as {@link #findPage(int, String)}.
+     * A full page always carries a cursor; the page after it may then be empty.
+     *
+     * @param token  search token (max 80)
+     * @param limit  maximum number of items in the page (positive)
+     * @param cursor {@link Page#nextCursor()} of the previous page, or {@code null} for the first page
+     * @return the page and the cursor of the next one
+     * @throws ApplicationException if repository access fails, validation rejects input or the cursor is invalid
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public Page<Item> searchPage(String token, int limit, String cursor) throws ApplicationException {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        String t = TextFolding.fold(InputSanitizer.sanitizeLine(token, 80));
+        long after = decodeCursor(cursor);
+        ensureIndexed();
+        List<OrderedItemIndex.Entry> entries = orderedIndex.page(after, limit, e -> e.contains(t));
+        String next = entries.size() == limit ? encodeCursor(entries.get(limit - 1).ordinal()) : null;
+        return new Page<>(toItems(entries), next);
+    }
+
+    /**
+     * Streams the whole catalog in repository order, honouring subscriber demand.
+     * Signals are delivered on virtual threads.
+     *
+     * @return a cold publisher; each subscriber walks the catalog from the start
+     * @throws ApplicationException if repository access fails
+     */
+    public Flow.Publisher<Item> publishAll() throws ApplicationException {
+        return publishAll(STREAM_EXECUTOR);
+    }
+
+    /**
+     * Streams the whole catalog in repository order on the given executor.
+     *
+     * @param executor executor delivering the signals (must not be {@code null})
+     * @return a cold publisher; each subscriber walks the catalog from the start
+     * @throws ApplicationException if repository access fails
+     */
+    public Flow.Publisher<Item> publishAll(Executor executor) throws ApplicationException {
+        ensureIndexed();
+        return new ItemPublisher(orderedIndex, e -> true, executor);
+    }
+
+    /**
+     * Streams the items matching {@code token}, with the same semantics as
+     * {@link #searchByToken(String)}. Matches are emitted as the walk finds them and only
+     * as fast as the subscriber requests them, so the first result does not wait for the
+     * whole catalog and the result set is never collected in memory.
+     *
+     * @param token search token (max 80)
+     * @return a cold publisher of matching items in repository order
+     * @throws ApplicationException if repository access fails or validation rejects input
+     */
+    public Flow.Publisher<Item> publishSearch(String token) throws ApplicationException {
+        return publishSearch(token, STREAM_EXECUTOR);
+    }
+
+    /**
+     * Streams the items matching {@code token} on the given executor.
+     *
+     * @param token    search token (max 80)
+     * @param executor executor delivering the signals (must not be {@code null})
+     * @return a cold publisher of matching items in repository order
+     * @throws ApplicationException if repository access fails or validation rejects input
+     * @see #publishSearch(String)
+     */
+    public Flow.Publisher<Item> publishSearch(String token, Executor executor) throws ApplicationException {
+        String t = TextFolding.fold(InputSanitizer.sanitizeLine(token, 80));
+        ensureIndexed();
+        return new ItemPublisher(orderedIndex, e -> e.contains(t), executor);
+    }
+
+    private static List<Item> toItems(List<OrderedItemIndex.Entry> entries) {
+        List<Item> out = new ArrayList<>(entries.size());
+        for (OrderedItemIndex.Entry e : entries) out.add(e.item());
+        return out;
+    }
+
+    /** Encodes a position as an opaque, URL-safe cursor. */
+    private static String encodeCursor(long ordinal) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o:" + ordinal).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(long)}.
+     *
+     * @param cursor cursor, or {@code null}/blank for the beginning
+     * @return last ordinal already returned, or {@code -1}
+     * @throws InputValidationException if the cursor is malformed
+     */
+    private static long decodeCursor(String cursor) throws InputValidationException {
+        if (cursor == null || cursor.isBlank()) return -1;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith("o:")) throw new InputValidationException("Invalid cursor");
+            long ordinal = Long.parseLong(raw.substring(2));
+            if (ordinal < 0) throw new InputValidationException("Invalid cursor");
+            return ordinal;
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            throw new InputValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Subscribes the search indexes to the repository on first use.
+     * The subscription loads a consistent snapshot; later writes are applied incrementally.
+     *
+     * @throws ApplicationException if the initial snapshot cannot be read
+     */
+    private void ensureIndexed() throws ApplicationException {
+        if (indexed) return;
+        indexLock.lock();
+        try {
+            if (!indexed) {
+                repo.subscribe(textIndex);
+                repo.subscribe(prefixIndex);
+                repo.subscribe(fuzzyIndex);
+                repo.subscribe(rankedIndex);
+                repo.subscribe(orderedIndex);
+                repo.subscribe(facets);
+                repo.subscribe(categoryIndex);
+                indexed = true;
+            }
+        } finally {
+            indexLock.unlock();
+        }
+    }
+}
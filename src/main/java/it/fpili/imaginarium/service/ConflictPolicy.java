@@ -0,0 +1,14 @@
+package it.fpili.imaginarium.service;
+
+/**
+ * What a bulk import does with a record whose id is already in the catalog
+ * or appeared earlier in the same file.
+ */
+public enum ConflictPolicy {
+    /** The imported record replaces the existing item (the last occurrence wins). */
+    OVERWRITE,
+    /** The imported record is ignored and counted as skipped (the first occurrence wins). */
+    SKIP,
+    /** The import stops with an error; batches already committed are kept. */
+    FAIL
+}
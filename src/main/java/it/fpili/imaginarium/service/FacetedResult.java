@@ -0,0 +1,14 @@
+package it.fpili.imaginarium.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search result together with its per-category facet counts.
+ *
+ * @param items          matching elements (never {@code null})
+ * @param categoryCounts number of matching elements per category label, in first-seen order
+ * @param <T>            element type
+ */
+public record FacetedResult<T>(List<T> items, Map<String, Integer> categoryCounts) {
+}
@@ -0,0 +1,23 @@
+package it.fpili.imaginarium.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a file import.
+ *
+ * @param rows     number of records read from the file
+ * @param imported number of records saved to the catalog
+ * @param skipped  number of valid records ignored by {@link ConflictPolicy#SKIP}
+ * @param rejected records that failed validation, in input order (never {@code null})
+ * @param elapsed  wall-clock time of the whole import, including parsing and commits
+ */
+public record ImportReport(long rows, long imported, long skipped,
+                           List<BulkReport.RecordError> rejected, Duration elapsed) {
+
+    /** @return rows read per second over the whole import */
+    public double rowsPerSecond() {
+        long nanos = Math.max(1, elapsed.toNanos());
+        return rows * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,241 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.adapter.JsonRecordReader;
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.factory.CsvItemDecoder;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.Repository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams a CSV or JSON file into any item repository.
+ * <p>
+ * This is the way back for the {@code {"data":[...]}} documents written by
+ * {@link it.fpili.imaginarium.adapter.CsvRepositoryToJsonAdapter}: the input is read
+ * sequentially by a pull parser ({@link JsonRecordReader}) or line by line, never as a
+ * whole document or tree, so parser memory stays flat whatever the file size. Records are sanitized and built
+ * in parallel by a {@link BulkValidator}; the valid items then pass, in input order, through
+ * a de-duplication step applying the {@link ConflictPolicy} against the ids already stored
+ * and those seen earlier in the file. Accepted items are committed with
+ * {@link Repository#saveAll(List)} in batches of {@code commitSize}, so a large file costs a
+ * handful of persists instead of one per row.
+ * </p>
+ * <p>
+ * Imports are not atomic: if the run fails, the batches committed so far are kept.
+ * With {@link ConflictPolicy#OVERWRITE} no id bookkeeping is needed; the other policies
+ * remember the ids seen so far.
+ * </p>
+ */
+public final class ItemImporter {
+
+    /** Default number of items per {@link Repository#saveAll(List)} call. */
+    public static final int DEFAULT_COMMIT_SIZE = 16_384;
+
+    private static final String CSV_HEADER = "ID,Name,Category,Description";
+    private static final String CSV_VERSION_MARK = "#lastVersion=";
+
+    private final Repository<Item, String> repo;
+    private final BulkValidator validator;
+    private final int commitSize;
+
+    /**
+     * Creates an importer with the default validator and commit size.
+     *
+     * @param repo target repository (must not be {@code null})
+     */
+    public ItemImporter(Repository<Item, String> repo) {
+        this(repo, new BulkValidator(), DEFAULT_COMMIT_SIZE);
+    }
+
+    /**
+     * Creates an importer.
+     *
+     * @param repo       target repository (must not be {@code null})
+     * @param validator  parallel validation pipeline (must not be {@code null})
+     * @param commitSize items per commit (positive)
+     * @throws IllegalArgumentException if {@code commitSize} is not positive
+     */
+    public ItemImporter(Repository<Item, String> repo, BulkValidator validator, int commitSize) {
+        if (commitSize <= 0) throw new IllegalArgumentException("commitSize must be positive");
+        this.repo = Objects.requireNonNull(repo, "repo");
+        this.validator = Objects.requireNonNull(validator, "validator");
+        this.commitSize = commitSize;
+    }
+
+    /**
+     * Imports {@code file}, choosing the format from its extension ({@code .csv} or {@code .json}).
+     *
+     * @param file   source file
+     * @param policy what to do with ids already present
+     * @return counts, rejected rows and elapsed time
+     * @throws InputValidationException if the format is unsupported or {@link ConflictPolicy#FAIL} hits a duplicate
+     * @throws IoOperationException     if the file cannot be read or is malformed JSON
+     * @throws ApplicationException     if a commit fails
+     */
+    public ImportReport run(Path file, ConflictPolicy policy) throws ApplicationException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(policy, "policy");
+        String name = String.valueOf(file.getFileName()).toLowerCase(Locale.ROOT);
+        boolean json;
+        if (name.endsWith(".csv")) json = false;
+        else if (name.endsWith(".json")) json = true;
+        else throw new InputValidationException("Unsupported import format (expected .csv or .json)");
+
+        long start = System.nanoTime();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importRecords(json ? jsonRecords(in) : csvRecords(in), policy, start);
+        } catch (IOException | UncheckedIOException e) {
+            throw new IoOperationException("Failed to import file: " + file, e);
+        }
+    }
+
+    /**
+     * Imports a JSON document ({@code {"data":[...]}} or a top-level array of item objects)
+     * from {@code in}. The reader is consumed but not closed.
+     *
+     * @param in     character source; buffered internally
+     * @param policy what to do with ids already present
+     * @return counts, rejected records and elapsed time
+     * @throws InputValidationException if {@link ConflictPolicy#FAIL} hits a duplicate
+     * @throws IoOperationException     if reading fails or the document is malformed
+     * @throws ApplicationException     if a commit fails
+     */
+    public ImportReport importJson(Reader in, ConflictPolicy policy) throws ApplicationException {
+        Objects.requireNonNull(in, "in");
+        Objects.requireNonNull(policy, "policy");
+        long start = System.nanoTime();
+        try {
+            return importRecords(jsonRecords(new BufferedReader(in)), policy, start);
+        } catch (UncheckedIOException e) {
+            throw new IoOperationException("Failed to import JSON", e);
+        }
+    }
+
+    private ImportReport importRecords(Stream<RawRecord> records, ConflictPolicy policy, long start)
+            throws ApplicationException {
+        Set<String> seen = null;
+        if (policy != ConflictPolicy.OVERWRITE) {
+            seen = new HashSet<>();
+            for (Item it : repo.findAll()) seen.add(it.id());
+        }
+        Committer committer = new Committer(policy, seen);
+        BulkReport report;
+        try (records) {
+            report = validator.run(records, committer::accept);
+            committer.flush();
+        }
+        return new ImportReport(report.total(), committer.imported, committer.skipped,
+                report.errors(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Maps CSV lines to records; the header and a leading {@code #lastVersion=} metadata line (as written by
+     * {@link it.fpili.imaginarium.persistence.CsvItemRepository}) are skipped and missing columns become {@code null}.
+     * Any other line starting with {@code #} is a record whose id begins with that character.
+     */
+    static Stream<RawRecord> csvRecords(BufferedReader in) throws IOException {
+        CsvItemDecoder decoder = new CsvItemDecoder();
+        String first = in.readLine();
+        if (first == null) return Stream.empty();
+        Stream<String> lines = first.startsWith(CSV_VERSION_MARK) ? in.lines() : Stream.concat(Stream.of(first), in.lines());
+        return lines
+                .filter(line -> !line.isBlank() && !line.regionMatches(true, 0, CSV_HEADER, 0, CSV_HEADER.length()))
+                .map(line -> {
+                    decoder.read(line);
+                    return new RawRecord(decoder.field(0), decoder.field(1), decoder.field(2), decoder.field(3));
+                });
+    }
+
+    /** Maps the objects of a JSON array (or {@code {"data":[...]}}) to records, matching member names case-insensitively. */
+    static Stream<RawRecord> jsonRecords(BufferedReader in) {
+        JsonRecordReader reader = new JsonRecordReader(in);
+        Iterator<RawRecord> it = new Iterator<>() {
+            private Map<String, String> next;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !done) {
+                    try {
+                        next = reader.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    done = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public RawRecord next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Map<String, String> m = next;
+                next = null;
+                return new RawRecord(JsonRecordReader.member(m, "id"), JsonRecordReader.member(m, "name"),
+                        JsonRecordReader.member(m, "category"), JsonRecordReader.member(m, "description"));
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false);
+    }
+
+    /** Applies the conflict policy and groups accepted items into large commits. */
+    private final class Committer {
+        private final ConflictPolicy policy;
+        private final Set<String> seen;
+        private final List<Item> pending = new ArrayList<>();
+        private long imported;
+        private long skipped;
+
+        /** {@code seen} is {@code null} when duplicates need no tracking. */
+        Committer(ConflictPolicy policy, Set<String> seen) {
+            this.policy = policy;
+            this.seen = seen;
+        }
+
+        void accept(List<Item> items) throws ApplicationException {
+            for (Item it : items) {
+                if (seen != null && !seen.add(it.id())) {
+                    if (policy == ConflictPolicy.SKIP) {
+                        skipped++;
+                        continue;
+                    }
+                    if (policy == ConflictPolicy.FAIL) {
+                        throw new InputValidationException("Duplicate id: " + it.id());
+                    }
+                }
+                pending.add(it);
+            }
+            if (pending.size() >= commitSize) flush();
+        }
+
+        void flush() throws ApplicationException {
+            if (pending.isEmpty()) return;
+            repo.saveAll(pending);
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+}
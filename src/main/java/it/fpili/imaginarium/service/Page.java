@@ -0,0 +1,23 @@
+package it.fpili.imaginarium.service;
+
+import java.util.List;
+
+/**
+ * One page of a paginated result.
+ *
+ * @param items      the items of this page (never {@code null})
+ * @param nextCursor opaque cursor to request the following page,
+ *                   or {@code null} when there is nothing after this page
+ * @param <T>        element type
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Tells whether a following page may exist.
+     *
+     * @return {@code true} if {@link #nextCursor()} is not {@code null}
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,171 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.search.TextFolding;
+import it.fpili.imaginarium.util.InputSanitizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Parsed field-aware catalog query.
+ * <p>
+ * Syntax: whitespace-separated terms, all of which must hold.
+ * <ul>
+ *   <li>{@code word}: name or category contains the word.</li>
+ *   <li>{@code name:word}, {@code desc:word}: the field contains the word.</li>
+ *   <li>{@code category:label} (or {@code cat:}): the category equals the label.</li>
+ *   <li>{@code id:value}: the identifier equals the value (case-sensitive).</li>
+ *   <li>A trailing {@code *} turns a term into a prefix match: a word of the name or description
+ *       starts with it, or the category / identifier starts with it.</li>
+ *   <li>A leading {@code -} negates a term.</li>
+ * </ul>
+ * Matching is case-insensitive except for identifiers. Every value is sanitized with
+ * {@link InputSanitizer#sanitizeLine(String, int)} like any other user input.
+ * </p>
+ * Example: {@code category:Cane name:rh* -desc:piccolo}.
+ */
+public final class Query {
+
+    /** Maximum number of terms in a query. */
+    public static final int MAX_CLAUSES = 16;
+
+    /** Item attribute a clause applies to; {@link #ANY} means name or category. */
+    public enum Field {
+        ID("id", 1), CATEGORY("category", 2), NAME("name", 3), ANY("", 4), DESCRIPTION("desc", 5);
+
+        private final String label;
+        private final int cost;
+
+        Field(String label, int cost) {
+            this.label = label;
+            this.cost = cost;
+        }
+
+        /** @return relative evaluation cost; cheaper fields are checked first */
+        int cost() { return cost; }
+
+        private static Field of(String name) {
+            return switch (name.toLowerCase(Locale.ROOT)) {
+                case "id" -> ID;
+                case "name" -> NAME;
+                case "category", "cat" -> CATEGORY;
+                case "desc", "description" -> DESCRIPTION;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * One term of a query.
+     *
+     * @param field   attribute to test
+     * @param value   folded value (raw for {@link Field#ID})
+     * @param prefix  whether the value is a prefix
+     * @param negated whether the term must not hold
+     */
+    public record Clause(Field field, String value, boolean prefix, boolean negated) {
+
+        /**
+         * Evaluates this term against an item.
+         *
+         * @param item item to test
+         * @return {@code true} if the item satisfies the term
+         */
+        public boolean test(Item item) {
+            boolean hit = switch (field) {
+                case ID -> prefix ? item.id().startsWith(value) : item.id().equals(value);
+                case CATEGORY -> {
+                    String c = TextFolding.fold(item.category());
+                    yield prefix ? c.startsWith(value) : c.equals(value);
+                }
+                case NAME -> text(TextFolding.fold(item.name()));
+                case DESCRIPTION -> text(TextFolding.fold(item.description()));
+                case ANY -> text(TextFolding.fold(item.name())) || text(TextFolding.fold(item.category()));
+            };
+            return hit != negated;
+        }
+
+        private boolean text(String folded) {
+            return prefix ? hasWordStartingWith(folded, value) : folded.contains(value);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "-" : "") + (field == Field.ANY ? "" : field.label + ":") + value + (prefix ? "*" : "");
+        }
+    }
+
+    private final List<Clause> clauses;
+
+    private Query(List<Clause> clauses) {
+        this.clauses = List.copyOf(clauses);
+    }
+
+    /**
+     * Parses a query string.
+     *
+     * @param raw query text (non-null)
+     * @return the parsed query
+     * @throws NullPointerException     if {@code raw} is {@code null}
+     * @throws InputValidationException if the query is empty, has too many terms,
+     *                                  uses an unknown field or contains an empty value
+     */
+    public static Query parse(String raw) throws InputValidationException {
+        Objects.requireNonNull(raw, "raw");
+        String trimmed = raw.strip();
+        if (trimmed.isEmpty()) throw new InputValidationException("Query cannot be empty");
+        String[] terms = trimmed.split("\\s+");
+        if (terms.length > MAX_CLAUSES) {
+            throw new InputValidationException("Too many query terms (max " + MAX_CLAUSES + ")");
+        }
+        List<Clause> out = new ArrayList<>(terms.length);
+        for (String term : terms) out.add(parseTerm(term));
+        return new Query(out);
+    }
+
+    /** @return the terms, in the order they were written */
+    public List<Clause> clauses() {
+        return clauses;
+    }
+
+    private static Clause parseTerm(String term) throws InputValidationException {
+        boolean negated = term.length() > 1 && term.charAt(0) == '-';
+        if (negated) term = term.substring(1);
+        Field field = Field.ANY;
+        int colon = term.indexOf(':');
+        if (colon > 0) {
+            field = Field.of(term.substring(0, colon));
+            if (field == null) throw new InputValidationException("Unknown query field: " + term.substring(0, colon));
+            term = term.substring(colon + 1);
+        }
+        boolean prefix = term.endsWith("*");
+        if (prefix) term = term.substring(0, term.length() - 1);
+        String value = InputSanitizer.sanitizeLine(term, 80);
+        return new Clause(field, field == Field.ID ? value : TextFolding.fold(value), prefix, negated);
+    }
+
+    /** Tells whether some word of {@code folded} starts with {@code prefix}. */
+    private static boolean hasWordStartingWith(String folded, String prefix) {
+        int from = 0;
+        while (true) {
+            int i = folded.indexOf(prefix, from);
+            if (i < 0) return false;
+            if (i == 0 || !Character.isLetterOrDigit(folded.charAt(i - 1))) return true;
+            from = i + 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Clause c : clauses) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package it.fpili.imaginarium.service;
+
+import java.util.List;
+
+/**
+ * Execution plan chosen for a {@link Query}.
+ *
+ * @param accessPath    how candidate items are obtained
+ * @param driver        clause served by the access path, or {@code null} for a full scan
+ * @param estimatedRows estimated number of candidates produced by the access path
+ * @param filters       remaining clauses, in evaluation order (cheapest first)
+ */
+public record QueryPlan(AccessPath accessPath, Query.Clause driver, long estimatedRows, List<Query.Clause> filters) {
+
+    /** Ways of obtaining candidate items, from most to least selective in general. */
+    public enum AccessPath { ID_LOOKUP, CATEGORY_INDEX, TEXT_INDEX, FULL_SCAN }
+
+    /**
+     * Renders the plan on one line, e.g.
+     * {@code CATEGORY_INDEX[category:cane] ~12 rows | filter: name:rh* AND -desc:piccolo}.
+     *
+     * @return human-readable plan description
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder(accessPath.name());
+        if (driver != null) sb.append('[').append(driver).append(']');
+        sb.append(" ~").append(estimatedRows).append(" rows");
+        if (!filters.isEmpty()) {
+            sb.append(" | filter: ");
+            for (int i = 0; i < filters.size(); i++) {
+                if (i > 0) sb.append(" AND ");
+                sb.append(filters.get(i));
+            }
+        }
+        if (accessPath == AccessPath.FULL_SCAN) sb.append(" (pushed down)");
+        return sb.toString();
+    }
+}
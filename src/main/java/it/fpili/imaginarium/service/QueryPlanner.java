@@ -0,0 +1,122 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.Repository;
+import it.fpili.imaginarium.search.CategoryIndex;
+import it.fpili.imaginarium.search.TrigramIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Chooses and runs the cheapest access path for a {@link Query}.
+ * <p>
+ * Every positive clause that an access path can serve is costed: an exact {@code id:} term
+ * by a single lookup, a {@code category:} term by the {@link CategoryIndex} count, and a
+ * name or bare term of three or more characters by the {@link TrigramIndex} estimate. The
+ * candidate with the fewest estimated rows drives the query; without any, the filter is
+ * pushed down into {@link Repository#findMatching(java.util.function.Predicate)}. The
+ * remaining clauses are evaluated cheapest first with short-circuit AND.
+ * </p>
+ */
+final class QueryPlanner {
+
+    private static final Comparator<Query.Clause> CHEAPEST_FIRST =
+            Comparator.comparingInt(c -> c.field().cost());
+
+    private final Repository<Item, String> repo;
+    private final TrigramIndex textIndex;
+    private final CategoryIndex categoryIndex;
+
+    QueryPlanner(Repository<Item, String> repo, TrigramIndex textIndex, CategoryIndex categoryIndex) {
+        this.repo = repo;
+        this.textIndex = textIndex;
+        this.categoryIndex = categoryIndex;
+    }
+
+    /**
+     * Builds the plan for {@code query} from the current index statistics.
+     *
+     * @param query parsed query
+     * @return the chosen plan
+     */
+    QueryPlan plan(Query query) {
+        QueryPlan.AccessPath best = QueryPlan.AccessPath.FULL_SCAN;
+        Query.Clause driver = null;
+        long bestRows = textIndex.size();
+
+        for (Query.Clause c : query.clauses()) {
+            if (c.negated()) continue;
+            QueryPlan.AccessPath path;
+            long rows;
+            if (c.field() == Query.Field.ID && !c.prefix()) {
+                path = QueryPlan.AccessPath.ID_LOOKUP;
+                rows = 1;
+            } else if (c.field() == Query.Field.CATEGORY) {
+                path = QueryPlan.AccessPath.CATEGORY_INDEX;
+                rows = categoryIndex.count(c.value(), c.prefix());
+            } else if ((c.field() == Query.Field.NAME || c.field() == Query.Field.ANY) && c.value().length() >= 3) {
+                path = QueryPlan.AccessPath.TEXT_INDEX;
+                rows = textIndex.estimate(c.value());
+            } else {
+                continue;
+            }
+            if (driver == null || rows < bestRows || (rows == bestRows && path.ordinal() < best.ordinal())) {
+                best = path;
+                driver = c;
+                bestRows = rows;
+            }
+        }
+
+        List<Query.Clause> filters = new ArrayList<>(query.clauses());
+        if (driver != null && servesExactly(best, driver)) filters.remove(driver);
+        filters.sort(CHEAPEST_FIRST);
+        return new QueryPlan(best, driver, bestRows, List.copyOf(filters));
+    }
+
+    /**
+     * Runs a plan produced by {@link #plan(Query)}.
+     *
+     * @param plan plan to execute
+     * @return matching items in repository order (never {@code null})
+     * @throws ApplicationException if repository access fails
+     */
+    List<Item> execute(QueryPlan plan) throws ApplicationException {
+        Predicate<Item> filter = allOf(plan.filters());
+        Query.Clause d = plan.driver();
+        if (plan.accessPath() == QueryPlan.AccessPath.FULL_SCAN) return repo.findMatching(filter);
+        List<Item> candidates = switch (plan.accessPath()) {
+            case ID_LOOKUP -> repo.findById(d.value()).map(List::of).orElse(List.of());
+            case CATEGORY_INDEX -> categoryIndex.lookup(d.value(), d.prefix());
+            default -> textIndex.search(d.value());
+        };
+        if (plan.filters().isEmpty()) return List.copyOf(candidates);
+        List<Item> out = new ArrayList<>();
+        for (Item it : candidates) {
+            if (filter.test(it)) out.add(it);
+        }
+        return List.copyOf(out);
+    }
+
+    /** Tells whether the access path alone guarantees the clause, so it needs no re-check. */
+    private static boolean servesExactly(QueryPlan.AccessPath path, Query.Clause c) {
+        return switch (path) {
+            case ID_LOOKUP, CATEGORY_INDEX -> true;
+            case TEXT_INDEX -> c.field() == Query.Field.ANY && !c.prefix();
+            case FULL_SCAN -> false;
+        };
+    }
+
+    private static Predicate<Item> allOf(List<Query.Clause> clauses) {
+        Query.Clause[] cs = clauses.toArray(new Query.Clause[0]);
+        return item -> {
+            for (Query.Clause c : cs) {
+                if (!c.test(item)) return false;
+            }
+            return true;
+        };
+    }
+}
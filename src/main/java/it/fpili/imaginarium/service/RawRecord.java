@@ -0,0 +1,13 @@
+package it.fpili.imaginarium.service;
+
+/**
+ * Unvalidated item fields as read from an external source (file, form, API).
+ * Any field may be {@code null} or contain characters the sanitizer will reject.
+ *
+ * @param id          raw identifier
+ * @param name        raw display name
+ * @param category    raw category label
+ * @param description raw description
+ */
+public record RawRecord(String id, String name, String category, String description) {
+}
@@ -1,9 +1,12 @@
 package it.fpili.imaginarium.shielding;
 
 import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.util.AsyncTasks;
 
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -86,5 +89,38 @@ public final class ExceptionShieldingHandler {
             return null;
         }, userMsg);
     }
+
+    /**
+     * Asynchronous variant of {@link #guard(Callable, String)}.
+     * <p>
+     * The action runs on {@code executor} (e.g. a virtual-thread-per-task executor); the
+     * returned future completes with its result, or exceptionally with the same
+     * {@link ApplicationException} the synchronous overload would have thrown.
+     * </p>
+     *
+     * @param action   the action to execute
+     * @param userMsg  safe, user-facing message for generic failures
+     * @param executor executor running the action
+     * @param <T>      return type of the action
+     * @return a future holding the action result or the shielded failure
+     */
+    public <T> CompletableFuture<T> guardAsync(Callable<T> action, String userMsg, Executor executor) {
+        return AsyncTasks.submit(() -> guard(action, userMsg), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link #guard(RunnableX, String)}.
+     *
+     * @param action   the action to execute
+     * @param userMsg  safe, user-facing message for generic failures
+     * @param executor executor running the action
+     * @return a future completed when the action finishes, or exceptionally with the shielded failure
+     */
+    public CompletableFuture<Void> guardAsync(RunnableX action, String userMsg, Executor executor) {
+        return guardAsync(() -> {
+            action.run();
+            return null;
+        }, userMsg, executor);
+    }
 }
 
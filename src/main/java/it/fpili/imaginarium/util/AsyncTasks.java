@@ -0,0 +1,58 @@
+package it.fpili.imaginarium.util;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Small helpers to run checked-exception actions asynchronously.
+ * <p>
+ * Unlike {@link CompletableFuture#supplyAsync}, the returned future is completed
+ * exceptionally with the exception thrown by the action itself (e.g. an
+ * {@code ApplicationException}), so callers can inspect it without unwrapping.
+ * </p>
+ * This class is final and cannot be instantiated (utility-only).
+ */
+public final class AsyncTasks {
+    private AsyncTasks() {}
+
+    /**
+     * Creates the default executor for asynchronous catalog operations:
+     * one virtual thread per task, so blocking I/O does not tie up platform threads.
+     *
+     * @return a new virtual-thread-per-task executor (to be closed by the caller)
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Runs {@code action} on {@code executor}.
+     *
+     * @param action   the action to execute (must not be {@code null})
+     * @param executor the executor to run on (must not be {@code null})
+     * @param <T>      result type
+     * @return a future completed with the action result or with the exception it threw
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> action, Executor executor) {
+        Objects.requireNonNull(action, "action");
+        Objects.requireNonNull(executor, "executor");
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(action.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -0,0 +1,26 @@
+package it.fpili.imaginarium.util;
+
+/**
+ * Immutable snapshot of cache counters.
+ * <p>
+ * Shared by the caches of the application so that hit ratios and eviction
+ * counts can be reported in a uniform way.
+ * </p>
+ *
+ * @param hits      number of lookups served from the cache
+ * @param misses    number of lookups that had to reach the backing source
+ * @param evictions number of entries removed because of capacity or expiry
+ * @param size      number of entries currently cached
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return hit ratio in {@code [0, 1]}, or {@code 0} if no lookup happened yet
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -17,9 +17,24 @@ import java.util.Objects;
  * </ul>
  * After sanitization, the result must be non-empty and shorter than the maximum length.
  * </p>
+ * <p>
+ * The rules are applied in a single pass over the code points, using a precomputed ASCII
+ * table, instead of three regular expressions. Input that is already clean is returned as is
+ * without allocating; otherwise a single {@code char[]} of the input's length is used.
+ * </p>
  */
 public final class InputSanitizer {
 
+    /** Allowlisted ASCII characters besides space: letters, digits and safe punctuation. */
+    private static final boolean[] ASCII_ALLOWED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) ASCII_ALLOWED[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) ASCII_ALLOWED[c] = true;
+        for (char c = '0'; c <= '9'; c++) ASCII_ALLOWED[c] = true;
+        for (char c : ".,_-@#:/'+!?()&%".toCharArray()) ASCII_ALLOWED[c] = true;
+    }
+
     /** Private constructor to prevent instantiation (utility class). */
     private InputSanitizer() {}
 
@@ -35,22 +50,97 @@ public final class InputSanitizer {
     public static String sanitizeLine(String raw, int maxLen) throws InputValidationException {
         Objects.requireNonNull(raw, "raw");
 
-        String s = raw
-                .replaceAll("\\p{Cntrl}", "")   // remove control characters (ASCII 0–31 and DEL)
-                .replaceAll(
-                        "[^\\p{L}\\p{N}\\s.,_\\-@#:/'+!?()&%]",
-                        ""                      // allow only letters, digits, space, and safe punctuation
-                )
-                .replaceAll("\\s+", " ")        // collapse multiple spaces/tabs into one space
-                .trim();
+        int n = raw.length();
+        int clean = cleanPrefix(raw);
+        if (clean == n) {
+            // Common case: nothing to strip, collapse or trim.
+            return checked(raw, n, maxLen);
+        }
+
+        // The clean prefix is copied as is; a single space at its end becomes pending.
+        char[] out = new char[n];
+        raw.getChars(0, clean, out, 0);
+        int len = clean;
+        boolean pendingSpace = false;
+        if (len > 0 && out[len - 1] == ' ') {
+            len--;
+            pendingSpace = true;
+        }
+
+        for (int i = clean; i < n; ) {
+            int cp = raw.codePointAt(i);
+            int width = Character.charCount(cp);
+            i += width;
+            if (cp == ' ') {
+                pendingSpace = len > 0; // leading spaces dropped, runs collapsed
+                continue;
+            }
+            if (!isAllowed(cp)) continue; // control characters and anything outside the allowlist
+            if (pendingSpace) {
+                out[len++] = ' ';
+                pendingSpace = false;
+            }
+            if (width == 1) {
+                out[len++] = (char) cp;
+            } else {
+                len += Character.toChars(cp, out, len);
+            }
+            if (len > maxLen) break; // already too long, no need to look further
+        }
+        return checked(new String(out, 0, len), len, maxLen);
+    }
+
+    /**
+     * Returns the length of the longest prefix of {@code raw} that sanitization leaves untouched:
+     * allowed characters and single inner spaces, not starting with a space.
+     */
+    private static int cleanPrefix(String raw) {
+        int n = raw.length();
+        int i = 0;
+        char prev = ' ';
+        while (i < n) {
+            char c = raw.charAt(i);
+            if (c == ' ') {
+                if (prev == ' ') return i;
+                prev = c;
+                i++;
+                continue;
+            }
+            if (c < 128) {
+                if (!ASCII_ALLOWED[c]) return i;
+                prev = c;
+                i++;
+                continue;
+            }
+            int cp = raw.codePointAt(i);
+            if (!isAllowed(cp)) return i;
+            prev = c;
+            i += Character.charCount(cp);
+        }
+        return prev == ' ' && n > 0 ? n - 1 : n; // a trailing space must be trimmed
+    }
 
-        if (s.isEmpty()) {
+    private static String checked(String s, int len, int maxLen) throws InputValidationException {
+        if (len == 0) {
             throw new InputValidationException("Input cannot be empty");
         }
-        if (s.length() > maxLen) {
+        if (len > maxLen) {
             throw new InputValidationException("Input too long (max " + maxLen + ")");
         }
-
         return s;
     }
-}
\ No newline at end of file
+
+    private static boolean isAllowed(int cp) {
+        if (cp < 128) return ASCII_ALLOWED[cp];
+        switch (Character.getType(cp)) {
+            case Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER, Character.TITLECASE_LETTER,
+                 Character.MODIFIER_LETTER, Character.OTHER_LETTER,
+                 Character.DECIMAL_DIGIT_NUMBER, Character.LETTER_NUMBER, Character.OTHER_NUMBER -> {
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package it.fpili.imaginarium.util;
 
+import it.fpili.imaginarium.exception.ApplicationException;
 import it.fpili.imaginarium.exception.IoOperationException;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.util.function.Consumer;
 
 /**
  * Safe, minimal file I/O utilities.
@@ -44,6 +52,93 @@ public final class SafeIO {
         }
     }
 
+    /**
+     * Produces the content of a file through a {@link Writer}.
+     *
+     * @see #writeUtf8(Path, WriterTask)
+     */
+    @FunctionalInterface
+    public interface WriterTask {
+        /**
+         * Writes the content to {@code out} (which must not be closed).
+         *
+         * @param out UTF-8 writer on a temporary file
+         * @throws IOException          if writing fails
+         * @throws ApplicationException if producing the content fails
+         */
+        void writeTo(Writer out) throws IOException, ApplicationException;
+    }
+
+    /**
+     * Streams content to a file using UTF-8 encoding, without building it in memory.
+     * The content is written to a sibling temporary file which then replaces {@code path},
+     * so a failed write never leaves a truncated file behind.
+     * Creates parent directories if they do not exist.
+     *
+     * @param path target file path
+     * @param task producer of the content
+     * @throws IoOperationException if any I/O error occurs
+     * @throws ApplicationException if {@code task} fails
+     */
+    public static void writeUtf8(Path path, WriterTask task) throws ApplicationException {
+        writeBytes(path, out -> {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            task.writeTo(w);
+            w.flush();
+        });
+    }
+
+    /**
+     * Produces the bytes of a file through an {@link OutputStream}.
+     *
+     * @see #writeBytes(Path, StreamTask)
+     */
+    @FunctionalInterface
+    public interface StreamTask {
+        /**
+         * Writes the content to {@code out} (which must not be closed).
+         *
+         * @param out buffered stream on a temporary file
+         * @throws IOException          if writing fails
+         * @throws ApplicationException if producing the content fails
+         */
+        void writeTo(OutputStream out) throws IOException, ApplicationException;
+    }
+
+    /**
+     * Streams raw bytes to a file, replacing it only once the content is complete
+     * (same temporary-file strategy as {@link #writeUtf8(Path, WriterTask)}).
+     * Creates parent directories if they do not exist.
+     *
+     * @param path target file path
+     * @param task producer of the content
+     * @throws IoOperationException if any I/O error occurs
+     * @throws ApplicationException if {@code task} fails
+     */
+    public static void writeBytes(Path path, StreamTask task) throws ApplicationException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                task.writeTo(out);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to write file: " + path, e);
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // best effort: the temporary file is overwritten by the next write
+            }
+        }
+    }
+
     /**
      * Reads text content from a file using UTF-8 encoding.
      *
@@ -58,4 +153,21 @@ public final class SafeIO {
             throw new IoOperationException("Failed to read file: " + path, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams the lines of a UTF-8 file to {@code consumer}, one at a time,
+     * without holding the whole content in memory. Lines end at {@code \n}, {@code \r} or {@code \r\n}.
+     *
+     * @param path     source file path
+     * @param consumer receives each line, without terminator
+     * @throws IoOperationException if any I/O error occurs
+     */
+    public static void forEachLineUtf8(Path path, Consumer<String> consumer) throws IoOperationException {
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) consumer.accept(line);
+        } catch (IOException e) {
+            throw new IoOperationException("Failed to read file: " + path, e);
+        }
+    }
+}
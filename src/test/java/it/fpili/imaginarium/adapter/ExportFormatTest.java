@@ -0,0 +1,153 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.InMemoryItemRepository;
+import it.fpili.imaginarium.persistence.Repository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ExportFormat} SPI and its built-in formats.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Lookup by name through {@link java.util.ServiceLoader}.</li>
+ *   <li>Every format decodes exactly what it encoded, field by field.</li>
+ *   <li>The {@code json} format matches {@link CsvRepositoryToJsonAdapter}; {@code ndjson} has one object per line.</li>
+ *   <li>Truncated, corrupt or foreign binary input is rejected.</li>
+ *   <li>JSON member names are matched case-insensitively, as by the importer.</li>
+ * </ul>
+ */
+class ExportFormatTest {
+
+    private static List<Item> sample() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(new Item("id-" + i, "Item \"" + i + "\" è€", "Cat\\" + (i % 7), i % 3 == 0 ? "" : "L1\nL2 " + "x".repeat(i)));
+        }
+        return items;
+    }
+
+    private static List<Item> decode(ExportFormat format, byte[] bytes) throws IOException {
+        ExportFormat.Decoder dec = format.decoder(new ByteArrayInputStream(bytes));
+        List<Item> out = new ArrayList<>();
+        for (Item it = dec.next(); it != null; it = dec.next()) out.add(it);
+        assertNull(dec.next(), "Decoder should stay at the end");
+        return out;
+    }
+
+    @Test
+    void formatsAreSelectedByName() throws Exception {
+        // Act + Assert
+        assertEquals(List.of("json", "ndjson", "binary"), ExportFormat.names(), "Built-in formats should be installed");
+        assertInstanceOf(NdjsonFormat.class, ExportFormat.byName(" NDJSON "), "Lookup should ignore case and blanks");
+        assertInstanceOf(BinaryFormat.class, ExportFormat.byName("binary"));
+        assertThrows(InputValidationException.class, () -> ExportFormat.byName("xml"), "Unknown name should be rejected");
+    }
+
+    @Test
+    void everyFormatRoundTrips() throws Exception {
+        // Arrange
+        List<Item> items = sample();
+        Repository<Item, String> repo = new InMemoryItemRepository(items);
+
+        for (String name : ExportFormat.names()) {
+            ExportFormat format = ExportFormat.byName(name);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            // Act
+            format.export(repo, bytes);
+            List<Item> back = decode(format, bytes.toByteArray());
+
+            // Assert
+            assertEquals(items.size(), back.size(), name + ": item count");
+            for (int i = 0; i < items.size(); i++) {
+                Item a = items.get(i);
+                Item b = back.get(i);
+                assertEquals(List.of(a.id(), a.name(), a.category(), a.description()),
+                        List.of(b.id(), b.name(), b.category(), b.description()), name + ": item " + i);
+            }
+            assertTrue(decode(format, encodeNothing(format)).isEmpty(), name + ": empty document");
+        }
+    }
+
+    @Test
+    void textFormatsHaveTheExpectedShape() throws Exception {
+        // Arrange
+        Repository<Item, String> repo = new InMemoryItemRepository(sample());
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+
+        // Act
+        new JsonFormat().export(repo, json);
+        new NdjsonFormat().export(repo, ndjson);
+        new BinaryFormat().export(repo, binary);
+
+        // Assert
+        assertEquals(new CsvRepositoryToJsonAdapter(repo).toJson(), json.toString(StandardCharsets.UTF_8),
+                "json format should equal the adapter output");
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(300, lines.length, "One line per item");
+        assertTrue(Arrays.stream(lines).allMatch(l -> l.startsWith("{\"id\":") && l.endsWith("}")), "Each line is an object");
+        assertTrue(binary.size() < ndjson.size(), "Binary should be the most compact");
+    }
+
+    @Test
+    void corruptBinaryInputIsRejected() throws Exception {
+        // Arrange
+        BinaryFormat format = new BinaryFormat();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        format.export(new InMemoryItemRepository(sample()), bytes);
+        byte[] full = bytes.toByteArray();
+        byte[] truncated = Arrays.copyOf(full, full.length - 10);
+
+        // Act + Assert
+        IOException e = assertThrows(IOException.class, () -> decode(format, truncated));
+        assertTrue(e.getMessage().contains("Truncated"), "Truncation should be reported: " + e.getMessage());
+        assertThrows(IOException.class, () -> format.decoder(new ByteArrayInputStream("{\"data\":[]}".getBytes(StandardCharsets.UTF_8))),
+                "Foreign input should fail the header check");
+        assertThrows(IOException.class, () -> decode(new NdjsonFormat(), "{\"name\":\"no id\"}\n".getBytes(StandardCharsets.UTF_8)),
+                "Records without id should be rejected");
+
+        ByteArrayOutputStream one = new ByteArrayOutputStream();
+        format.export(new InMemoryItemRepository(List.of(new Item("Q", "Blank", "", ""))), one);
+        byte[] blankId = one.toByteArray();
+        for (int i = 0; i < blankId.length; i++) if (blankId[i] == 'Q') blankId[i] = ' ';
+        e = assertThrows(IOException.class, () -> decode(format, blankId), "A blank id should not escape as IllegalArgumentException");
+        assertTrue(e.getMessage().startsWith("Corrupt binary export: "), "Corruption should be reported: " + e.getMessage());
+    }
+
+    @Test
+    void jsonMemberNamesMatchLikeTheImporter() throws Exception {
+        // Arrange
+        byte[] ndjson = "{\"ID\":\"a\",\"Name\":\"Moon Lamp\",\"CATEGORY\":\"Lights\",\"description\":\"Soft\"}\n"
+                .getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        List<Item> back = decode(new NdjsonFormat(), ndjson);
+
+        // Assert
+        Item it = back.get(0);
+        assertEquals(List.of("a", "Moon Lamp", "Lights", "Soft"), List.of(it.id(), it.name(), it.category(), it.description()),
+                "Member names should be matched case-insensitively");
+        assertThrows(IOException.class, () -> decode(new NdjsonFormat(), "{\"id\":\"a\",\"name\":\"\\uD83C\"}".getBytes(StandardCharsets.UTF_8)),
+                "A field the item cannot hold should be reported as malformed input");
+    }
+
+    private static byte[] encodeNothing(ExportFormat format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        format.encoder(bytes).finish();
+        return bytes.toByteArray();
+    }
+}
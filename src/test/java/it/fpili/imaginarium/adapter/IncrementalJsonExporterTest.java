@@ -0,0 +1,57 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.util.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IncrementalJsonExporter}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Output identical to {@link CsvRepositoryToJsonAdapter} for every target.</li>
+ *   <li>Only new or changed items are re-encoded; fragments of deleted items are dropped.</li>
+ * </ul>
+ */
+class IncrementalJsonExporterTest {
+
+    @Test
+    void reencodesOnlyChangedItems() throws Exception {
+        // Arrange
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-incr").resolve("items.csv"));
+        repo.saveAll(List.of(
+                new Item("a", "Sky \"Spoon\"", "Tools", "Scoops\nclouds"),
+                new Item("b", "Caffè Jar", "Containers", "€ inside"),
+                new Item("c", "Dream Compass", "Tools", "")));
+        IncrementalJsonExporter exporter = new IncrementalJsonExporter(repo);
+        CsvRepositoryToJsonAdapter reference = new CsvRepositoryToJsonAdapter(repo);
+
+        // Act + Assert: cold export encodes everything
+        assertEquals(reference.toJson(), exporter.toJson(), "Output should match the adapter");
+        assertEquals(new CacheStats(0, 3, 0, 3), exporter.stats());
+
+        // One update, one delete, one insert
+        repo.save(new Item("b", "Caffè Jar", "Containers", "Now empty"));
+        repo.deleteById("c");
+        repo.save(new Item("d", "Star Lantern", "Lights", ""));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        exporter.writeTo(bytes);
+
+        assertEquals(reference.toJson(), bytes.toString(StandardCharsets.UTF_8), "Warm output should match the adapter");
+        assertEquals(new CacheStats(1, 5, 1, 3), exporter.stats(), "Only b and d should be re-encoded, c dropped");
+
+        StringWriter chars = new StringWriter();
+        exporter.writeTo(chars);
+        assertEquals(reference.toJson(), chars.toString(), "Writer output should match the adapter");
+        assertEquals(4, exporter.stats().hits(), "Unchanged catalog should be served from the cache");
+    }
+}
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>Basic JSON string escaping rules (quotes and newlines).</li>
  *   <li>File I/O roundtrip via {@link SafeIO}.</li>
  *   <li>Propagation of {@link ApplicationException} when the adaptee fails.</li>
+ *   <li>Streaming to writers, streams and channels yields the same document as {@code toJson()}.</li>
  * </ul>
  * Rationale: keeps the adapter dependency-free (manual JSON building) but verifies correctness.
  */
@@ -111,4 +112,42 @@ class JsonAdapterTest {
         assertThrows(ApplicationException.class, bad::toJson,
                 "Adapter should rethrow ApplicationException when the adaptee fails");
     }
+
+    /**
+     * Verifies that every streaming target produces exactly the {@code toJson()} document,
+     * and that the single-pass escaper matches the chained-replace rules.
+     */
+    @Test
+    void streamingTargetsMatchToJson() throws Exception {
+        // Arrange
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-json-stream").resolve("items.csv"));
+        java.util.Random rnd = new java.util.Random(42);
+        String alphabet = "ab\\\"\n\rè€ ,";
+        for (int i = 0; i < 300; i++) {
+            StringBuilder name = new StringBuilder("n");
+            for (int j = rnd.nextInt(12); j > 0; j--) name.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+            name.append('z');
+            repo.saveAll(java.util.List.of(new Item("id-" + i, name.toString(), "Cat", i % 2 == 0 ? "" : "D\"" + i)));
+        }
+        CsvRepositoryToJsonAdapter adapter = new CsvRepositoryToJsonAdapter(repo);
+        String json = adapter.toJson();
+
+        // Act
+        java.io.StringWriter sw = new java.io.StringWriter();
+        adapter.writeTo(sw);
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        adapter.writeTo(bytes);
+        java.io.ByteArrayOutputStream viaChannel = new java.io.ByteArrayOutputStream();
+        adapter.writeTo(java.nio.channels.Channels.newChannel(viaChannel));
+
+        // Assert
+        assertEquals(json, sw.toString(), "Writer output should equal toJson()");
+        assertEquals(json, bytes.toString(java.nio.charset.StandardCharsets.UTF_8), "Stream output should be UTF-8 of toJson()");
+        assertArrayEquals(bytes.toByteArray(), viaChannel.toByteArray(), "Channel output should equal stream output");
+        for (Item it : repo.findAll()) {
+            String expected = it.name().replace("\\", "\\\\").replace("\"", "\\\"")
+                    .replace("\n", "\\n").replace("\r", "\\r");
+            assertTrue(json.contains("\"name\":\"" + expected + "\""), "Escaping should match the replace chain");
+        }
+    }
 }
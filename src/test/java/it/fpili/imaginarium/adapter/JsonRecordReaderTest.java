@@ -0,0 +1,98 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming {@link JsonRecordReader}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Reading back the documents written by {@link CsvRepositoryToJsonAdapter}.</li>
+ *   <li>Top-level arrays, escapes, literals and skipped nested values.</li>
+ *   <li>Syntax errors reported as {@link IOException} with an offset.</li>
+ * </ul>
+ */
+class JsonRecordReaderTest {
+
+    private static List<Map<String, String>> readAll(String json) throws IOException {
+        List<Map<String, String>> out = new ArrayList<>();
+        try (JsonRecordReader reader = new JsonRecordReader(new StringReader(json))) {
+            Map<String, String> m;
+            while ((m = reader.next()) != null) out.add(m);
+            assertNull(reader.next(), "Reader should stay at the end");
+        }
+        return out;
+    }
+
+    @Test
+    void readsBackAdapterExport() throws Exception {
+        // Arrange
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-json-read").resolve("items.csv"));
+        repo.saveAll(List.of(
+                new Item("id-1", "Quote \"Name\"", "Tools", "Line1\nLine2\\end"),
+                new Item("id-2", "Caffè €", "", "")));
+        String json = new CsvRepositoryToJsonAdapter(repo).toJson();
+
+        // Act
+        List<Map<String, String>> records = readAll(json);
+
+        // Assert
+        assertEquals(2, records.size(), "One record per exported item");
+        assertEquals(Map.of("id", "id-1", "name", "Quote \"Name\"", "category", "Tools",
+                "description", "Line1\nLine2\\end"), records.get(0), "Escapes should be decoded");
+        assertEquals("Caffè €", records.get(1).get("name"), "Non-ASCII text should round trip");
+    }
+
+    @Test
+    void readsArraysLiteralsAndSkipsNestedValues() throws Exception {
+        // Act
+        List<Map<String, String>> records = readAll(
+                " [ {\"id\":7, \"ok\":true, \"x\":null, \"tags\":[\"a\",{\"b\":[1]}], \"u\":\"\\u00e8\\t\"}, {} ] ");
+
+        // Assert
+        assertEquals(2, records.size());
+        Map<String, String> first = records.get(0);
+        assertEquals("7", first.get("id"), "Numbers should be returned as text");
+        assertEquals("true", first.get("ok"));
+        assertTrue(first.containsKey("x") && first.get("x") == null, "null should map to a null value");
+        assertFalse(first.containsKey("tags"), "Nested values should be skipped");
+        assertEquals("è\t", first.get("u"), "Unicode and control escapes should be decoded");
+        assertTrue(records.get(1).isEmpty(), "Empty object should give an empty record");
+        assertTrue(readAll("{\"data\":[]}").isEmpty(), "Empty data array should give no records");
+    }
+
+    @Test
+    void reportsMalformedInput() {
+        // Act + Assert
+        for (String bad : List.of("{\"items\":[]}", "[{\"id\":\"a\" \"n\":1}]", "[{\"id\":\"a", "[{\"id\":tru}]", "42",
+                "[{\"n\":1f}]", "[{\"n\":2d}]", "[{\"n\":NaN}]", "[{\"n\":-Infinity}]", "[{\"n\":01}]", "[{\"n\":.5}]",
+                "[{\"n\":1.}]", "[{\"n\":1e}]", "[{\"n\":+1}]",
+                "{\"data\":[]", "{\"data\":[]]", "{\"data\":[]} x", "[] []", "{\"data\":[],}")) {
+            IOException e = assertThrows(IOException.class, () -> readAll(bad), "Should reject: " + bad);
+            assertTrue(e.getMessage().startsWith("Malformed JSON at offset "), "Message should carry the offset");
+        }
+    }
+
+    @Test
+    void acceptsJsonNumbersAndMembersAfterTheData() throws Exception {
+        // Act
+        List<Map<String, String>> records = readAll(
+                "{\"data\":[{\"a\":-0, \"b\":-12.5e+3, \"c\":1E9, \"d\":0.25}], \"meta\":{\"v\":[1]}, \"n\":3}\n");
+
+        // Assert
+        assertEquals(List.of(Map.of("a", "-0", "b", "-12.5e+3", "c", "1E9", "d", "0.25")), records,
+                "Valid numbers should be kept verbatim");
+        assertTrue(readAll("[]  \n").isEmpty(), "Trailing whitespace is allowed");
+    }
+}
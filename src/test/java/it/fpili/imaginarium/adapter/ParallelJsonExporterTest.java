@@ -0,0 +1,81 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.InMemoryItemRepository;
+import it.fpili.imaginarium.persistence.Repository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParallelJsonExporter}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Byte-identical output to {@link CsvRepositoryToJsonAdapter} for any chunking.</li>
+ *   <li>Write failures surface as {@link IoOperationException}.</li>
+ * </ul>
+ */
+class ParallelJsonExporterTest {
+
+    @Test
+    void outputIsByteIdenticalForAnyChunking() throws Exception {
+        // Arrange
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            items.add(new Item("id-" + i, "Item \"" + i + "\" è€", "Cat\\" + (i % 7), i % 3 == 0 ? "" : "L1\nL2\r"));
+        }
+        Repository<Item, String> repo = new InMemoryItemRepository(items);
+        String expected = new CsvRepositoryToJsonAdapter(repo).toJson();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(4)) {
+            for (int chunk : new int[]{1, 7, 256, 1_000, 5_000}) {
+                ParallelJsonExporter exporter = new ParallelJsonExporter(repo, pool, chunk, 3);
+
+                // Act
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                exporter.writeTo(bytes);
+                ByteArrayOutputStream viaChannel = new ByteArrayOutputStream();
+                exporter.writeTo(Channels.newChannel(viaChannel));
+                StringWriter chars = new StringWriter();
+                exporter.writeTo(chars);
+
+                // Assert
+                assertArrayEquals(expected.getBytes(java.nio.charset.StandardCharsets.UTF_8), bytes.toByteArray(),
+                        "Chunk size " + chunk + " should give the sequential bytes");
+                assertArrayEquals(bytes.toByteArray(), viaChannel.toByteArray(), "Channel output should match");
+                assertEquals(expected, chars.toString(), "Writer output should match");
+            }
+        }
+        assertEquals("{\"data\":[]}", new ParallelJsonExporter(new InMemoryItemRepository(List.of())).toJson(), "Empty catalog");
+    }
+
+    @Test
+    void writeFailureIsWrapped() {
+        // Arrange
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) items.add(new Item("id-" + i, "n", "c", "d"));
+        ParallelJsonExporter exporter = new ParallelJsonExporter(new InMemoryItemRepository(items), Runnable::run, 10, 2);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws java.io.IOException {
+                throw new java.io.IOException("disk full");
+            }
+        };
+
+        // Act + Assert
+        ApplicationException e = assertThrows(IoOperationException.class, () -> exporter.writeTo(broken));
+        assertEquals("disk full", e.getCause().getMessage(), "Cause should be kept");
+    }
+}
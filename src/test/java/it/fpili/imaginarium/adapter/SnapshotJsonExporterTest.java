@@ -0,0 +1,134 @@
+package it.fpili.imaginarium.adapter;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.service.CatalogService;
+import it.fpili.imaginarium.service.RawRecord;
+import it.fpili.imaginarium.util.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SnapshotJsonExporter}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>The snapshot is regenerated only after a write (save or delete) or an external change to the file.</li>
+ *   <li>Every target receives exactly the source document.</li>
+ *   <li>The service write count feeding the exporter is distinct from item versions.</li>
+ * </ul>
+ */
+class SnapshotJsonExporterTest {
+
+    /** Source export counting how many times the document is produced. */
+    private static JsonExport counting(JsonExport source, AtomicInteger runs) {
+        return new JsonExport() {
+            public String toJson() throws ApplicationException {
+                return source.toJson();
+            }
+
+            public void writeTo(OutputStream out) throws ApplicationException {
+                runs.incrementAndGet();
+                source.writeTo(out);
+            }
+        };
+    }
+
+    @Test
+    void regeneratesOnlyAfterWrites() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-snap");
+        CsvItemRepository repo = new CsvItemRepository(dir.resolve("items.csv"));
+        CatalogService service = new CatalogService(repo);
+        service.upsertItem("a", "Sky Spoon", "Tools", "Scoops clouds");
+        service.upsertItem("b", "Caffè Jar", "Containers", "€ inside");
+        CsvRepositoryToJsonAdapter reference = new CsvRepositoryToJsonAdapter(repo);
+        AtomicInteger runs = new AtomicInteger();
+        SnapshotJsonExporter exporter = new SnapshotJsonExporter(counting(reference, runs), service::writeCount, dir.resolve("items.json"));
+
+        // Act + Assert: first export writes, repeats are served from the file
+        assertTrue(exporter.refresh(), "First export should write the snapshot");
+        assertFalse(exporter.refresh(), "Unchanged catalog should reuse the snapshot");
+        assertEquals(reference.toJson(), Files.readString(exporter.snapshot(), StandardCharsets.UTF_8));
+        assertEquals(1, runs.get(), "Source should run once");
+
+        service.deleteItem("b");
+        assertTrue(exporter.refresh(), "A delete should invalidate the snapshot");
+        assertFalse(Files.readString(exporter.snapshot(), StandardCharsets.UTF_8).contains("Caffè"), "Deleted item should be gone");
+
+        service.upsertItem("c", "Star Lantern", "Lights", "Glows");
+        assertTrue(exporter.refresh(), "A save should invalidate the snapshot");
+        Files.writeString(exporter.snapshot(), "tampered");
+        assertTrue(exporter.refresh(), "An externally modified file should be regenerated");
+        Files.delete(exporter.snapshot());
+        assertTrue(exporter.refresh(), "A removed file should be regenerated");
+        assertFalse(exporter.refresh());
+
+        assertEquals(5, runs.get(), "Source should run once per invalidation");
+        assertEquals(new CacheStats(2, 5, 4, 1), exporter.stats());
+    }
+
+    @Test
+    void writeCountIsNotAnItemVersion() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-snap-count");
+        CatalogService service = new CatalogService(new CsvItemRepository(dir.resolve("items.csv")));
+        service.upsertItem("a", "Sky Spoon", "Tools", "Scoops clouds");
+        long seen = service.currentVersion();
+
+        // Act
+        service.upsertAll(Stream.of(
+                new RawRecord("b", "Echo Jar", "Containers", "Echoes"),
+                new RawRecord("c", "Star Lantern", "Lights", "Glows")));
+        service.deleteItem("a");
+
+        // Assert
+        assertEquals(3, service.currentVersion(), "One item version per saved item");
+        assertEquals(3, service.writeCount(), "One write per call, deletions included");
+        assertEquals(List.of("b", "c"),
+                service.findModifiedSince(seen).stream().map(Item::id).toList(),
+                "currentVersion() should be a valid starting point for findModifiedSince");
+    }
+
+    @Test
+    void everyTargetReceivesTheSnapshot() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-snap-targets");
+        CsvItemRepository repo = new CsvItemRepository(dir.resolve("items.csv"));
+        CatalogService service = new CatalogService(repo);
+        for (int i = 0; i < 2_000; i++) service.upsertItem("id-" + i, "Item \"" + i + "\" è", "Cat " + (i % 9), "Line " + i);
+        String expected = new CsvRepositoryToJsonAdapter(repo).toJson();
+        AtomicInteger runs = new AtomicInteger();
+        SnapshotJsonExporter exporter = new SnapshotJsonExporter(
+                counting(new IncrementalJsonExporter(repo), runs), service::writeCount, dir.resolve("out/items.json"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream viaChannel = new ByteArrayOutputStream();
+        StringWriter chars = new StringWriter();
+
+        // Act
+        String json = exporter.toJson();
+        exporter.writeTo(bytes);
+        exporter.writeTo(Channels.newChannel(viaChannel));
+        exporter.writeTo(chars);
+
+        // Assert
+        assertEquals(expected, json, "toJson() should return the source document");
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8), "Stream output");
+        assertEquals(expected, viaChannel.toString(StandardCharsets.UTF_8), "Channel output");
+        assertEquals(expected, chars.toString(), "Writer output");
+        assertEquals(1, runs.get(), "All targets should share one snapshot");
+    }
+}
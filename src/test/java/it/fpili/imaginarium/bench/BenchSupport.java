@@ -0,0 +1,39 @@
+package it.fpili.imaginarium.bench;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Minimal timing harness shared by the benchmarks in this package.
+ * <p>
+ * The project has no JMH dependency; this helper performs warm-up iterations and then
+ * reports the median wall-clock time of the measured ones, which is enough to compare
+ * implementations side by side on the same JVM.
+ * </p>
+ */
+final class BenchSupport {
+    private static final int WARMUP = 5;
+    private static final int RUNS = 10;
+
+    /** Prevents dead-code elimination of benchmark results. */
+    static volatile int sink;
+
+    private BenchSupport() {}
+
+    /**
+     * Runs {@code body} repeatedly and returns the median time of one run.
+     *
+     * @param body workload returning a value derived from its result
+     * @return median milliseconds per run
+     */
+    static double measure(IntSupplier body) {
+        for (int i = 0; i < WARMUP; i++) sink += body.getAsInt();
+        double[] times = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            sink += body.getAsInt();
+            times[i] = (System.nanoTime() - t0) / 1e6;
+        }
+        java.util.Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+}
@@ -0,0 +1,69 @@
+package it.fpili.imaginarium.bench;
+
+import it.fpili.imaginarium.adapter.ExportFormat;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.InMemoryItemRepository;
+import it.fpili.imaginarium.persistence.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares the installed {@link ExportFormat}s by output size and by encode and decode time
+ * (default 1,000,000 items).
+ * <p>
+ * Not part of the test suite. Run after {@code mvn test-compile} with:
+ * <pre>{@code java -Xmx2g -cp target/classes:target/test-classes it.fpili.imaginarium.bench.ExportFormatBenchmark [items]}</pre>
+ * Encoding writes to a discarding stream; decoding reads an in-memory copy of the output.
+ * </p>
+ */
+public final class ExportFormatBenchmark {
+    private ExportFormatBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new Item("id-" + i, "Item \"" + i + "\"", "Cat " + (i % 50), "Synthetic item number " + i));
+        }
+        Repository<Item, String> repo = new InMemoryItemRepository(items);
+        OutputStream discard = OutputStream.nullOutputStream();
+
+        for (String name : ExportFormat.names()) {
+            ExportFormat format = ExportFormat.byName(name);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            format.export(repo, bytes);
+            byte[] doc = bytes.toByteArray();
+
+            double encode = BenchSupport.measure(() -> {
+                try {
+                    format.export(repo, discard);
+                    return 1;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            double decode = BenchSupport.measure(() -> decodeAll(format, doc));
+            System.out.printf(Locale.ROOT, "%-7s items=%d size=%.1f MB (%.1f B/item) encode=%.1f ms (%.0f items/s) decode=%.1f ms (%.0f items/s)%n",
+                    name, n, doc.length / 1e6, (double) doc.length / n,
+                    encode, n / (encode / 1e3), decode, n / (decode / 1e3));
+        }
+    }
+
+    private static int decodeAll(ExportFormat format, byte[] doc) {
+        try {
+            ExportFormat.Decoder dec = format.decoder(new ByteArrayInputStream(doc));
+            int count = 0;
+            while (dec.next() != null) count++;
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
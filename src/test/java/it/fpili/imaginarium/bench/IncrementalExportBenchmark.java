@@ -0,0 +1,56 @@
+package it.fpili.imaginarium.bench;
+
+import it.fpili.imaginarium.adapter.CsvRepositoryToJsonAdapter;
+import it.fpili.imaginarium.adapter.IncrementalJsonExporter;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares a full JSON export with a warm {@link IncrementalJsonExporter} on an unchanged
+ * catalog, both written to a discarding stream (default 1,000,000 items).
+ * <p>
+ * Not part of the test suite. Run after {@code mvn test-compile} with:
+ * <pre>{@code java -Xmx2g -cp target/classes:target/test-classes it.fpili.imaginarium.bench.IncrementalExportBenchmark [items]}</pre>
+ * </p>
+ */
+public final class IncrementalExportBenchmark {
+    private IncrementalExportBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-bench").resolve("items.csv"));
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new Item("id-" + i, "Item \"" + i + "\"", "Cat " + (i % 50), "Synthetic item number " + i));
+        }
+        repo.saveAll(items);
+        CsvRepositoryToJsonAdapter full = new CsvRepositoryToJsonAdapter(repo);
+        IncrementalJsonExporter incremental = new IncrementalJsonExporter(repo);
+        OutputStream discard = OutputStream.nullOutputStream();
+        incremental.writeTo(discard);
+
+        double fullMs = BenchSupport.measure(() -> {
+            try {
+                full.writeTo(discard);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return 1;
+        });
+        double incrMs = BenchSupport.measure(() -> {
+            try {
+                incremental.writeTo(discard);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return 1;
+        });
+        System.out.printf(Locale.ROOT, "items=%d full=%.1f ms incremental(warm)=%.1f ms%n", n, fullMs, incrMs);
+    }
+}
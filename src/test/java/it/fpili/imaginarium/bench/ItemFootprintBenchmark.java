@@ -0,0 +1,63 @@
+package it.fpili.imaginarium.bench;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * Measures the retained heap per {@link Item} and the cost of its accessors, comparing the
+ * packed layout with the previous one (four separate strings).
+ * <p>
+ * Not part of the test suite. Run after {@code mvn test-compile} with:
+ * <pre>{@code java -Xmx2g -cp target/classes:target/test-classes it.fpili.imaginarium.bench.ItemFootprintBenchmark [items]}</pre>
+ * The heap figure is the difference in used memory after a full GC, divided by the item
+ * count; the ids are created in both runs, so they are included in the figure.
+ * </p>
+ */
+public final class ItemFootprintBenchmark {
+    private ItemFootprintBenchmark() {}
+
+    /** The previous layout: one {@code String} per field. */
+    private record FourStrings(String id, String name, String category, String description) {}
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] words = {"Sky", "Spoon", "Echo", "Jar", "Dream", "Compass", "Star", "Lantern"};
+
+        double legacy = bytesPerObject(n, i -> new FourStrings("id-" + i,
+                words[i % 8] + " " + words[(i / 8) % 8] + " " + i,
+                words[(i / 64) % 8] + " " + (i % 50), "Synthetic item number " + i));
+        Item[] items = new Item[n];
+        double packed = bytesPerObject(n, i -> items[i] = new Item("id-" + i,
+                words[i % 8] + " " + words[(i / 8) % 8] + " " + i,
+                words[(i / 64) % 8] + " " + (i % 50), "Synthetic item number " + i));
+        System.out.printf(Locale.ROOT, "items=%d four-strings=%.1f B/item packed=%.1f B/item saving=%.0f%%%n",
+                n, legacy, packed, 100 * (1 - packed / legacy));
+
+        double access = BenchSupport.measure(() -> {
+            int len = 0;
+            for (Item it : items) len += it.name().length() + it.category().length();
+            return len;
+        });
+        System.out.printf(Locale.ROOT, "name()+category() over all items: %.2f ms%n", access);
+    }
+
+    private static double bytesPerObject(int n, IntFunction<Object> factory) throws InterruptedException {
+        long before = usedAfterGc();
+        Object[] keep = new Object[n];
+        for (int i = 0; i < n; i++) keep[i] = factory.apply(i);
+        long after = usedAfterGc();
+        BenchSupport.sink += keep.length;
+        return (after - before - (16 + 4L * n)) / (double) n; // minus the holder array
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,55 @@
+package it.fpili.imaginarium.bench;
+
+import it.fpili.imaginarium.adapter.CsvRepositoryToJsonAdapter;
+import it.fpili.imaginarium.adapter.ParallelJsonExporter;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.InMemoryItemRepository;
+import it.fpili.imaginarium.persistence.Repository;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares the sequential JSON export with {@link ParallelJsonExporter}, both written to a
+ * discarding stream (default 1,000,000 items).
+ * <p>
+ * Not part of the test suite. Run after {@code mvn test-compile} with:
+ * <pre>{@code java -Xmx2g -cp target/classes:target/test-classes it.fpili.imaginarium.bench.ParallelExportBenchmark [items]}</pre>
+ * The speedup depends on the number of cores available to the JVM.
+ * </p>
+ */
+public final class ParallelExportBenchmark {
+    private ParallelExportBenchmark() {}
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new Item("id-" + i, "Item \"" + i + "\"", "Cat " + (i % 50), "Synthetic item number " + i));
+        }
+        Repository<Item, String> repo = new InMemoryItemRepository(items);
+        CsvRepositoryToJsonAdapter sequential = new CsvRepositoryToJsonAdapter(repo);
+        ParallelJsonExporter parallel = new ParallelJsonExporter(repo);
+        OutputStream discard = OutputStream.nullOutputStream();
+
+        double seq = BenchSupport.measure(() -> export(() -> sequential.writeTo(discard)));
+        double par = BenchSupport.measure(() -> export(() -> parallel.writeTo(discard)));
+        System.out.printf(Locale.ROOT, "items=%d cores=%d sequential=%.1f ms parallel=%.1f ms speedup=%.2fx%n",
+                n, Runtime.getRuntime().availableProcessors(), seq, par, seq / par);
+    }
+
+    private interface Export {
+        void run() throws Exception;
+    }
+
+    private static int export(Export e) {
+        try {
+            e.run();
+            return 1;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package it.fpili.imaginarium.bench;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.search.ParallelScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Micro-benchmark comparing a sequential stream scan with {@link ParallelScanner}
+ * over a synthetic catalog (default 1,000,000 items).
+ * <p>
+ * Not part of the test suite (no {@code Test} suffix). Run after {@code mvn test-compile} with:
+ * <pre>{@code java -cp target/classes:target/test-classes it.fpili.imaginarium.bench.ParallelScanBenchmark [items]}</pre>
+ * The speedup depends on the number of cores available to the JVM.
+ * </p>
+ */
+public final class ParallelScanBenchmark {
+    private ParallelScanBenchmark() {}
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] words = {"Sky", "Spoon", "Echo", "Jar", "Dream", "Compass", "Star", "Lantern"};
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new Item("id-" + i, words[i % 8] + " " + words[(i / 8) % 8] + " " + i,
+                    words[(i / 64) % 8], "Synthetic item number " + i));
+        }
+        List<Item> snapshot = List.copyOf(items);
+        // The predicate of the pre-index searchByToken path.
+        Predicate<Item> predicate = it -> it.name().toLowerCase(Locale.ROOT).contains("lantern 9")
+                || it.category().toLowerCase(Locale.ROOT).contains("lantern 9");
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        try (ParallelScanner scanner = new ParallelScanner(cores, ParallelScanner.DEFAULT_SEQUENTIAL_THRESHOLD,
+                ParallelScanner.DEFAULT_SEGMENT_SIZE)) {
+            double seq = BenchSupport.measure(() -> snapshot.stream().filter(predicate).toList().size());
+            double par = BenchSupport.measure(() -> scanner.filter(snapshot, predicate).size());
+            System.out.printf(Locale.ROOT, "items=%d cores=%d sequential=%.2f ms parallel=%.2f ms speedup=%.2fx%n",
+                    n, cores, seq, par, seq / par);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package it.fpili.imaginarium.bench;
+
+import it.fpili.imaginarium.search.ByteScanKernel;
+import it.fpili.imaginarium.search.FoldedTextBuffer;
+import it.fpili.imaginarium.search.TextFolding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Micro-benchmark of case-insensitive substring scans over a synthetic catalog
+ * (default 1,000,000 items):
+ * <ul>
+ *   <li>{@code toLowerCase().contains} on every name and category (the original scan);</li>
+ *   <li>{@link FoldedTextBuffer} with the scalar kernel;</li>
+ *   <li>{@link FoldedTextBuffer} with {@link ByteScanKernel#best()}.</li>
+ * </ul>
+ * Run after {@code mvn test-compile}; add the module flag to measure the vector kernel:
+ * <pre>{@code java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes \
+ *     it.fpili.imaginarium.bench.SubstringScanBenchmark [items]}</pre>
+ */
+public final class SubstringScanBenchmark {
+    private SubstringScanBenchmark() {}
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] words = {"Sky", "Spoon", "Echo", "Jar", "Dream", "Compass", "Star", "Lantern"};
+        List<String[]> raw = new ArrayList<>(n);
+        FoldedTextBuffer.Builder builder = new FoldedTextBuffer.Builder(n);
+        for (int i = 0; i < n; i++) {
+            String name = words[i % 8] + " " + words[(i / 8) % 8] + " " + i;
+            String category = words[(i / 64) % 8];
+            raw.add(new String[]{name, category});
+            builder.add(i, TextFolding.fold(name), TextFolding.fold(category));
+        }
+        FoldedTextBuffer scalar = builder.build(ByteScanKernel.scalar());
+        FoldedTextBuffer best = builder.build();
+
+        for (String q : new String[]{"q", "7", "ja"}) {
+            double naive = BenchSupport.measure(() -> {
+                int hits = 0;
+                for (String[] f : raw) {
+                    if (f[0].toLowerCase(Locale.ROOT).contains(q) || f[1].toLowerCase(Locale.ROOT).contains(q)) hits++;
+                }
+                return hits;
+            });
+            double s = BenchSupport.measure(() -> scalar.find(q).length);
+            double v = BenchSupport.measure(() -> best.find(q).length);
+            System.out.printf(Locale.ROOT, "items=%d query=%-3s toLowerCase=%.2f ms scalar=%.2f ms %s=%.2f ms%n",
+                    n, q, naive, s, best.kernelName(), v);
+        }
+    }
+}
@@ -13,6 +13,8 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>Creation from sanitized user input ({@link UserInputItemCreator}).</li>
  *   <li>Creation from CSV columns ({@link CsvItemCreator}).</li>
  *   <li>Validation error when CSV columns are insufficient.</li>
+ *   <li>Direct decoding of CSV lines by a reusable {@link CsvItemDecoder}.</li>
+ *   <li>Round trip of Latin-1 and non-Latin-1 text through the packed {@link Item} fields.</li>
  * </ul>
  * Rationale: ensures both concrete creators produce correct domain objects and
  * that basic preconditions are enforced.
@@ -63,4 +65,72 @@ class ItemFactoryTest {
         assertTrue(ex.getMessage().toLowerCase().contains("expected 4"),
                 "Error message should indicate the required number of columns");
     }
+
+    @Test
+    void csvDecoderIsReusableAcrossLines() {
+        // Arrange
+        CsvItemDecoder decoder = new CsvItemDecoder();
+
+        // Act + Assert
+        assertTrue(decoder.read(" id-1 , Sky Spoon ,Tools,Scoops clouds, 7 ,1700000000000,extra"));
+        Item a = decoder.build();
+        assertEquals("id-1", a.id(), "Unquoted fields should be trimmed");
+        assertEquals("Sky Spoon", a.name());
+        assertEquals("Scoops clouds", a.description());
+        assertEquals(7, a.version(), "Fifth column is the version");
+        assertEquals(1_700_000_000_000L, a.modifiedAt(), "Sixth column is the modification time; later ones are ignored");
+
+        assertTrue(decoder.read("id-2,\"Jar, \"\"Echo\"\"\",Containers,"));
+        Item b = decoder.build();
+        assertEquals("Jar, \"Echo\"", b.name(), "Quoted commas and doubled quotes should be decoded");
+        assertEquals("", b.description(), "Trailing empty field is a column");
+        assertEquals(0, b.version(), "Missing version should default to 0");
+
+        assertFalse(decoder.read("id-3,Only,Three"), "Fewer than four columns is malformed");
+        assertThrows(IllegalStateException.class, decoder::build, "Nothing to build after a malformed line");
+    }
+
+    @Test
+    void packedFieldsRoundTripAnyText() {
+        // Arrange
+        Item latin = new Item(" id-1 ", " Caffè  ", "", null);
+        Item wide = new Item("id-1", "Лампа 🌙", "Ωmega", "日本");
+
+        // Assert
+        assertEquals("Caffè", latin.name(), "Latin-1 text should be trimmed and kept");
+        assertEquals("", latin.category(), "Empty field should stay empty");
+        assertEquals("", latin.description(), "Null field should default to empty");
+        assertEquals("Лампа 🌙", wide.name(), "Non-Latin-1 text should round trip");
+        assertEquals("Ωmega", wide.category());
+        assertEquals("日本", wide.description());
+        assertEquals(latin, wide, "Equality should depend on id only");
+        assertEquals(latin.hashCode(), wide.hashCode(), "Hash code should depend on id only");
+    }
+
+    @Test
+    void packedFieldsAreDecodedOnce() {
+        // Arrange
+        Item item = new Item("id-1", "aé€🌙z", "Ωmega", "日本");
+
+        // Act
+        String name = item.name();
+        Item stamped = item.withVersion(3, 42);
+
+        // Assert
+        assertEquals("aé€🌙z", name, "One- to four-byte UTF-8 sequences should round trip");
+        assertSame(name, item.name(), "A field should be decoded only once");
+        assertSame(item.category(), item.category());
+        assertSame(name, stamped.name(), "A restamped item should share the decoded field");
+        assertEquals("日本", stamped.description());
+    }
+
+    @Test
+    void unpairedSurrogatesAreRejected() {
+        // Act + Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new Item("id-1", "Moon \uD83C", "", ""), "A lone high surrogate cannot be stored");
+        assertTrue(e.getMessage().startsWith("name"), "The offending field should be named: " + e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new Item("id-1", "", "\uDF19x", ""), "A lone low surrogate cannot be stored");
+        assertEquals("Moon 🌙", new Item("id-1", "Moon \uD83C\uDF19", "", "").name(), "A surrogate pair is a valid code point");
+    }
 }
@@ -0,0 +1,140 @@
+package it.fpili.imaginarium.persistence;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.util.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CachingRepository}.
+ * <p>
+ * Uses an in-memory repository that counts backend reads, so that cache hits,
+ * write-through invalidation and each eviction policy can be observed directly.
+ * </p>
+ */
+class CachingRepositoryTest {
+
+    /** Minimal in-memory backend counting how often it is read. */
+    private static final class CountingRepository implements Repository<Item, String> {
+        final Map<String, Item> data = new LinkedHashMap<>();
+        int reads;
+
+        public void save(Item e) { data.put(e.id(), e); }
+        public Optional<Item> findById(String id) { reads++; return Optional.ofNullable(data.get(id)); }
+        public List<Item> findAll() { reads++; return List.copyOf(data.values()); }
+        public void deleteById(String id) throws ApplicationException {
+            if (data.remove(id) == null) throw new ApplicationException("not found");
+        }
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() throws Exception {
+        // Arrange
+        CountingRepository backend = new CountingRepository();
+        backend.save(new Item("id-1", "Sky Spoon", "Tools", "Scoops clouds"));
+        CachingRepository<Item, String> repo = CachingRepository.lru(backend, Item::id, 10);
+
+        // Act
+        repo.findById("id-1");
+        repo.findById("id-1");
+        repo.findAll();
+        repo.findAll();
+
+        // Assert
+        assertEquals(2, backend.reads, "Backend should be read once per key and once for the snapshot");
+        CacheStats stats = repo.stats();
+        assertEquals(2, stats.hits(), "Second reads should be hits");
+        assertEquals(0.5, stats.hitRatio(), 1e-9, "Hit ratio should be 2/4");
+    }
+
+    @Test
+    void writesInvalidateEntryAndSnapshot() throws Exception {
+        // Arrange
+        CountingRepository backend = new CountingRepository();
+        CachingRepository<Item, String> repo = CachingRepository.lru(backend, Item::id, 10);
+        assertTrue(repo.findById("id-2").isEmpty(), "Unknown id should be empty (and cached as a miss)");
+        assertEquals(0, repo.findAll().size());
+
+        // Act
+        repo.save(new Item("id-2", "Echo Jar", "Containers", "Stores echoes"));
+
+        // Assert
+        assertEquals("Echo Jar", repo.findById("id-2").orElseThrow().name(), "Save must invalidate the cached miss");
+        assertEquals(1, repo.findAll().size(), "Save must invalidate the snapshot");
+
+        repo.deleteById("id-2");
+        assertTrue(repo.findById("id-2").isEmpty(), "Delete must invalidate the cached entry");
+        assertTrue(repo.findAll().isEmpty(), "Delete must invalidate the snapshot");
+    }
+
+    @Test
+    void lruEvictsLeastRecentlyUsed() throws Exception {
+        // Arrange
+        CountingRepository backend = new CountingRepository();
+        for (String id : List.of("a", "b", "c")) backend.save(new Item(id, id, "", ""));
+        CachingRepository<Item, String> repo = CachingRepository.lru(backend, Item::id, 2);
+
+        // Act: touch a, b, then a again so that b becomes least recently used
+        repo.findById("a");
+        repo.findById("b");
+        repo.findById("a");
+        repo.findById("c");
+        int readsBefore = backend.reads;
+        repo.findById("a");
+
+        // Assert
+        assertEquals(readsBefore, backend.reads, "Recently used entry must survive eviction");
+        assertEquals(1, repo.stats().evictions(), "Exactly one entry should have been evicted");
+    }
+
+    @Test
+    void lfuEvictsLeastFrequentlyUsed() throws Exception {
+        // Arrange
+        CountingRepository backend = new CountingRepository();
+        for (String id : List.of("a", "b", "c")) backend.save(new Item(id, id, "", ""));
+        CachingRepository<Item, String> repo = CachingRepository.lfu(backend, Item::id, 2);
+
+        // Act: a is read three times, b once; loading c must evict b
+        repo.findById("a");
+        repo.findById("a");
+        repo.findById("a");
+        repo.findById("b");
+        repo.findById("c");
+        int readsBefore = backend.reads;
+        repo.findById("a");
+        repo.findById("b");
+
+        // Assert
+        assertEquals(readsBefore + 1, backend.reads, "Only the least frequently used key should need a reload");
+    }
+
+    @Test
+    void ttlEntriesExpire() throws Exception {
+        // Arrange
+        CountingRepository backend = new CountingRepository();
+        backend.save(new Item("id-3", "Dream Compass", "Tools", "Points to your dreams"));
+        AtomicLong now = new AtomicLong();
+        CachingRepository<Item, String> repo = new CachingRepository<>(backend, Item::id,
+                CachingRepository.EvictionPolicy.TTL, 10, Duration.ofSeconds(5), now::get);
+
+        // Act
+        repo.findById("id-3");
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        repo.findById("id-3");
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        repo.findById("id-3");
+
+        // Assert
+        assertEquals(2, backend.reads, "Entry should be reloaded only after its TTL elapsed");
+        assertEquals(1, repo.stats().evictions(), "Expired entry should count as an eviction");
+    }
+}
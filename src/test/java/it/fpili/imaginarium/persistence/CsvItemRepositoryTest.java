@@ -1,5 +1,6 @@
 package it.fpili.imaginarium.persistence;
 
+import it.fpili.imaginarium.factory.CsvItemDecoder;
 import it.fpili.imaginarium.model.Item;
 import org.junit.jupiter.api.Test;
 
@@ -62,5 +63,94 @@ class CsvItemRepositoryTest {
         assertFalse(repo2.findById("id-3").isPresent(),
                 "Reloaded repo should not contain deleted item");
     }
-}
 
+    /**
+     * Ensures that fields needing quotes survive a save/reload round trip,
+     * and that decoding agrees with {@link CsvUtil#parseLine(String)} on the written lines.
+     */
+    @Test
+    void quotedFieldsRoundTrip() throws Exception {
+        Path file = Files.createTempDirectory("imag-csv-quote").resolve("items.csv");
+        CsvItemRepository repo = new CsvItemRepository(file);
+        Item tricky = new Item("id-4", "Jar, \"Echo\"", "Tools, Misc", "Says \"\"hi\"\", twice");
+        repo.save(tricky);
+        repo.save(new Item("id-5", "Plain", "", ""));
+
+        CsvItemRepository reloaded = new CsvItemRepository(file);
+        Item back = reloaded.findById("id-4").orElseThrow();
+        assertEquals(tricky.name(), back.name(), "Quoted name should round trip");
+        assertEquals(tricky.category(), back.category(), "Quoted category should round trip");
+        assertEquals(tricky.description(), back.description(), "Doubled quotes should round trip");
+        assertEquals("", reloaded.findById("id-5").orElseThrow().category(), "Empty fields should round trip");
+
+        for (String line : Files.readAllLines(file).subList(2, 4)) { // skip the version mark and the header
+            String[] cols = CsvUtil.parseLine(line);
+            CsvItemDecoder decoder = new CsvItemDecoder();
+            assertTrue(decoder.read(line));
+            Item decoded = decoder.build();
+            assertEquals(cols[1].trim(), decoded.name(), "Decoder should agree with parseLine");
+            assertEquals(cols[3].trim(), decoded.description(), "Decoder should agree with parseLine");
+        }
+    }
+
+    /**
+     * Ensures that saves are stamped with increasing versions and timestamps,
+     * that {@code findModifiedSince} returns only later changes, and that versions
+     * survive reloads (including deletion of the newest item and legacy files).
+     */
+    @Test
+    void versionsTrackChangesAcrossReloads() throws Exception {
+        Path file = Files.createTempDirectory("imag-csv-ver").resolve("items.csv");
+        long[] now = {1_000};
+        CsvItemRepository repo = new CsvItemRepository(file, () -> now[0]++);
+        repo.save(new Item("a", "Sky Spoon", "Tools", ""));
+        repo.save(new Item("b", "Echo Jar", "Containers", ""));
+        long seen = repo.currentVersion();
+        repo.save(new Item("a", "Sky Spoon", "Tools", "Updated"));
+        repo.saveAll(java.util.List.of(new Item("c", "Dream Compass", "Tools", "")));
+
+        assertEquals(4, repo.currentVersion(), "One version per saved item");
+        assertEquals(java.util.List.of("a", "c"),
+                repo.findModifiedSince(seen).stream().map(Item::id).toList(), "Only later changes, oldest first");
+        assertEquals(1_002, repo.findById("a").orElseThrow().modifiedAt(), "Save time should be recorded");
+        assertEquals(3, repo.findModifiedSince(0).size(), "Version 0 should return everything");
+
+        repo.deleteById("c");
+        java.util.List<String> lines = Files.readAllLines(file);
+        assertEquals("#lastVersion=4", lines.get(0), "Version mark should be kept outside the schema");
+        assertEquals("ID,Name,Category,Description,Version,Modified", lines.get(1), "Header should list the columns only");
+        CsvItemRepository reloaded = new CsvItemRepository(file, () -> 2_000);
+        assertEquals(3, reloaded.findById("a").orElseThrow().version(), "Versions should be persisted");
+        assertEquals(1_002, reloaded.findById("a").orElseThrow().modifiedAt(), "Timestamps should be persisted");
+        reloaded.save(new Item("d", "Star Lantern", "Lights", ""));
+        assertEquals(5, reloaded.currentVersion(), "Deleted versions must not be reused");
+
+        Path legacy = Files.writeString(file.resolveSibling("legacy.csv"),
+                "ID,Name,Category,Description\nx,One,Cat,\ny,Two,Cat,\n");
+        CsvItemRepository old = new CsvItemRepository(legacy);
+        assertEquals(java.util.List.of("x", "y"),
+                old.findModifiedSince(0).stream().map(Item::id).toList(), "Rows without versions are numbered in file order");
+    }
+
+    /**
+     * Ensures that only a leading version mark is read as metadata, so items whose
+     * id starts with {@code #} survive a reload and the rewrite that follows it.
+     */
+    @Test
+    void hashPrefixedIdsRoundTrip() throws Exception {
+        Path file = Files.createTempDirectory("imag-csv-hash").resolve("items.csv");
+        CsvItemRepository repo = new CsvItemRepository(file);
+        repo.save(new Item("#42", "Hash Jar", "Containers", ""));
+        repo.save(new Item("#lastVersion=9", "Odd Id", "", ""));
+
+        CsvItemRepository reloaded = new CsvItemRepository(file);
+        assertEquals("Hash Jar", reloaded.findById("#42").orElseThrow().name(), "A #-prefixed id should survive a reload");
+        assertTrue(reloaded.findById("#lastVersion=9").isPresent(), "Only the first line may be the version mark");
+        assertEquals(2, reloaded.currentVersion(), "Data rows must not move the version mark");
+
+        reloaded.save(new Item("b", "Echo Jar", "Containers", ""));
+        CsvItemRepository again = new CsvItemRepository(file);
+        assertEquals(java.util.List.of("#42", "#lastVersion=9", "b"),
+                again.findAll().stream().map(Item::id).toList(), "The next persist must keep #-prefixed items");
+    }
+}
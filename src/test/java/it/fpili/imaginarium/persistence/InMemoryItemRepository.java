@@ -0,0 +1,59 @@
+package it.fpili.imaginarium.persistence;
+
+import it.fpili.imaginarium.model.Item;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Test fixture: item repository kept in memory, in insertion order.
+ * <p>
+ * Shared by tests and benchmarks that need a plain {@link Repository} without a CSV file.
+ * The {@link #findAll()} snapshot is cached until the next write, so benchmarks over large
+ * catalogs do not measure a copy of the list. Not thread-safe.
+ * </p>
+ */
+public final class InMemoryItemRepository implements Repository<Item, String> {
+
+    private final Map<String, Item> items = new LinkedHashMap<>();
+    private List<Item> snapshot;
+
+    /** Creates an empty repository. */
+    public InMemoryItemRepository() {
+    }
+
+    /**
+     * Creates a repository holding {@code initial}, in iteration order.
+     *
+     * @param initial items to store
+     */
+    public InMemoryItemRepository(Collection<Item> initial) {
+        for (Item it : initial) items.put(it.id(), it);
+    }
+
+    @Override
+    public void save(Item entity) {
+        items.put(entity.id(), entity);
+        snapshot = null;
+    }
+
+    @Override
+    public Optional<Item> findById(String id) {
+        return Optional.ofNullable(items.get(id));
+    }
+
+    @Override
+    public List<Item> findAll() {
+        if (snapshot == null) snapshot = List.copyOf(items.values());
+        return snapshot;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        items.remove(id);
+        snapshot = null;
+    }
+}
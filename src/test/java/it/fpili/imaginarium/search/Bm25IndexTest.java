@@ -0,0 +1,79 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Bm25Index}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Description text is searchable, but name matches outrank description matches.</li>
+ *   <li>Rarer terms weigh more than common ones.</li>
+ *   <li>Only {@code k} results are returned, in decreasing score order, ties in repository order.</li>
+ *   <li>Updates and deletes are reflected immediately.</li>
+ * </ul>
+ */
+class Bm25IndexTest {
+
+    private static List<String> ids(List<ScoredItem> hits) {
+        return hits.stream().map(h -> h.item().id()).toList();
+    }
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        // Arrange
+        Bm25Index index = new Bm25Index();
+        index.onReload(List.of(
+                new Item("id-1", "Echo Jar", "Containers", "Keeps a cloud inside"),
+                new Item("id-2", "Cloud Spoon", "Tools", "Scoops things"),
+                new Item("id-3", "Star Lantern", "Lights", "Glows")));
+
+        // Act
+        List<ScoredItem> hits = index.search("cloud", 10);
+
+        // Assert
+        assertEquals(List.of("id-2", "id-1"), ids(hits), "Name match should rank above description match");
+        assertTrue(hits.get(0).score() > hits.get(1).score(), "Scores should be strictly decreasing here");
+    }
+
+    @Test
+    void returnsOnlyTopKWithStableTies() {
+        // Arrange
+        Bm25Index index = new Bm25Index();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) items.add(new Item("id-" + i, "Lantern", "Lights", ""));
+        items.add(new Item("rare", "Lantern Moon", "Lights", ""));
+        index.onReload(items);
+
+        // Act
+        List<ScoredItem> hits = index.search("lantern moon", 3);
+
+        // Assert
+        assertEquals(List.of("rare", "id-0", "id-1"), ids(hits),
+                "Rare term should dominate; equal scores should follow repository order");
+        assertThrows(IllegalArgumentException.class, () -> index.search("lantern", 0));
+    }
+
+    @Test
+    void reflectsUpdatesAndDeletes() {
+        // Arrange
+        Bm25Index index = new Bm25Index();
+        index.onReload(List.of(new Item("id-1", "Sky Spoon", "Tools", "")));
+
+        // Act
+        index.onSave(new Item("id-1", "Moon Spoon", "Tools", ""));
+        index.onSave(new Item("id-2", "Echo Jar", "Containers", "Stores echoes"));
+        index.onDelete("id-2");
+
+        // Assert
+        assertTrue(index.search("sky", 5).isEmpty(), "Old name must not match after update");
+        assertEquals(List.of("id-1"), ids(index.search("moon", 5)), "New name must match after update");
+        assertTrue(index.search("echoes", 5).isEmpty(), "Deleted item must not match");
+    }
+}
@@ -0,0 +1,61 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FacetCounter}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Global counts follow saves, category changes and deletes.</li>
+ *   <li>Empty categories are reported under {@link FacetCounter#UNCATEGORIZED}.</li>
+ *   <li>One-pass counting of an arbitrary result agrees with the incremental counts.</li>
+ * </ul>
+ */
+class FacetCounterTest {
+
+    @Test
+    void maintainsCountsIncrementally() {
+        // Arrange
+        FacetCounter facets = new FacetCounter();
+        facets.onReload(List.of(
+                new Item("id-1", "Star Lantern", "Lights", "d"),
+                new Item("id-2", "Sky Spoon", "Tools", "d"),
+                new Item("id-3", "Echo Jar", "", "d")));
+
+        // Act
+        facets.onSave(new Item("id-4", "Moon Lamp", "Lights", "d"));
+        facets.onSave(new Item("id-2", "Sky Spoon", "Lights", "d"));
+        facets.onDelete("id-3");
+        facets.onDelete("missing");
+
+        // Assert
+        assertEquals(Map.of("Lights", 3), facets.counts(), "Emptied categories should disappear");
+    }
+
+    @Test
+    void countsResultsWithSameLabels() {
+        // Arrange
+        List<Item> items = List.of(
+                new Item("id-1", "Star Lantern", "Lights", "d"),
+                new Item("id-2", "Echo Jar", "", "d"),
+                new Item("id-3", "Moon Lamp", "Lights", "d"));
+        FacetCounter facets = new FacetCounter();
+        facets.onReload(items);
+
+        // Act
+        Map<String, Integer> counted = FacetCounter.count(items);
+
+        // Assert
+        assertEquals(List.of("Lights", FacetCounter.UNCATEGORIZED), List.copyOf(counted.keySet()),
+                "Facets should be listed in first-seen order");
+        assertEquals(2, counted.get("Lights"));
+        assertEquals(facets.counts(), counted, "One-pass counts should agree with incremental counts");
+    }
+}
@@ -0,0 +1,75 @@
+package it.fpili.imaginarium.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FoldedTextBuffer} and the {@link ByteScanKernel} implementations.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Both kernels agree with {@link String#contains} on random data, including vector tails.</li>
+ *   <li>Matches never span fields; non-Latin-1 documents are still found, in document order.</li>
+ * </ul>
+ */
+class FoldedTextBufferTest {
+
+    @Test
+    void kernelsAgreeWithStringContains() {
+        // Arrange
+        Random rnd = new Random(42);
+        List<String[]> fields = new ArrayList<>();
+        FoldedTextBuffer.Builder builder = new FoldedTextBuffer.Builder(0);
+        for (int d = 0; d < 2_000; d++) {
+            String[] f = {randomWord(rnd), randomWord(rnd)};
+            fields.add(f);
+            builder.add(d, f);
+        }
+        FoldedTextBuffer scalar = builder.build(ByteScanKernel.scalar());
+        FoldedTextBuffer best = builder.build();
+
+        for (String q : List.of("a", "ab", "ba", "abc", "cab c", "zz", "")) {
+            List<Integer> expected = new ArrayList<>();
+            for (int d = 0; d < fields.size(); d++) {
+                if (fields.get(d)[0].contains(q) || fields.get(d)[1].contains(q)) expected.add(d);
+            }
+
+            // Act + Assert
+            assertEquals(expected, boxed(scalar.find(q)), "Scalar kernel, query '" + q + "'");
+            assertEquals(expected, boxed(best.find(q)), best.kernelName() + " kernel, query '" + q + "'");
+        }
+    }
+
+    @Test
+    void doesNotMatchAcrossFieldsAndHandlesWideText() {
+        // Arrange
+        FoldedTextBuffer buffer = new FoldedTextBuffer.Builder(3)
+                .add(0, "star", "lamp")
+                .add(1, "σταρ ar", "tools")
+                .add(5, "arlamp", "x")
+                .build();
+
+        // Act + Assert
+        assertArrayEquals(new int[]{5}, buffer.find("rla"), "Match must not span name and category");
+        assertArrayEquals(new int[]{0, 1, 5}, buffer.find("ar"), "Wide documents merge in document order");
+        assertArrayEquals(new int[]{1}, buffer.find("τα"), "Non-Latin-1 query checks wide documents");
+    }
+
+    private static String randomWord(Random rnd) {
+        StringBuilder sb = new StringBuilder();
+        int len = 1 + rnd.nextInt(40);
+        for (int i = 0; i < len; i++) sb.append("abcz ".charAt(rnd.nextInt(5)));
+        return sb.toString();
+    }
+
+    private static List<Integer> boxed(int[] a) {
+        List<Integer> out = new ArrayList<>(a.length);
+        for (int v : a) out.add(v);
+        return out;
+    }
+}
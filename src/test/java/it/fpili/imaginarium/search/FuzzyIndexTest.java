@@ -0,0 +1,64 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FuzzyIndex}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Misspelled words within the distance limit still match; words beyond it do not.</li>
+ *   <li>Multi-word queries require every word to match.</li>
+ *   <li>Incremental updates and deletes, including many dead BK-tree terms.</li>
+ * </ul>
+ */
+class FuzzyIndexTest {
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::id).toList();
+    }
+
+    @Test
+    void toleratesTyposWithinLimit() {
+        // Arrange
+        FuzzyIndex index = new FuzzyIndex();
+        index.onReload(List.of(
+                new Item("id-1", "Sky Spoon", "Tools", ""),
+                new Item("id-2", "Echo Jar", "Containers", ""),
+                new Item("id-3", "Dream Compass", "Tools", "")));
+
+        // Act + Assert
+        assertEquals(List.of("id-1"), ids(index.search("spon", 1)), "One deletion should match within distance 1");
+        assertEquals(List.of("id-3"), ids(index.search("compas drem", 1)), "Every word must match");
+        assertEquals(List.of("id-1", "id-3"), ids(index.search("tols", 1)), "Category words are indexed too");
+        assertTrue(index.search("spn", 1).isEmpty(), "Two edits must not match within distance 1");
+        assertEquals(List.of("id-1"), ids(index.search("spn", 2)), "Two edits match within distance 2");
+        assertThrows(IllegalArgumentException.class, () -> index.search("x", FuzzyIndex.MAX_DISTANCE + 1));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        // Arrange
+        FuzzyIndex index = new FuzzyIndex();
+        index.onReload(List.of());
+
+        // Act: churn many distinct terms so that dead entries trigger a rebuild
+        for (int i = 0; i < 200; i++) {
+            index.onSave(new Item("id-" + i, "Lantern" + i, "Lights", ""));
+        }
+        for (int i = 0; i < 190; i++) {
+            index.onDelete("id-" + i);
+        }
+        index.onSave(new Item("id-195", "Moon Lamp", "Lights", ""));
+
+        // Assert
+        assertTrue(index.search("lantern10", 0).isEmpty(), "Deleted items must not match");
+        assertEquals(List.of("id-195"), ids(index.search("mon lamp", 1)), "Updated name should match");
+        assertEquals(10, index.search("lihgts", 2).size(), "Remaining items should match their category");
+    }
+}
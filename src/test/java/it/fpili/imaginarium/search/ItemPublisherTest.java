@@ -0,0 +1,128 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.service.CatalogService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ItemPublisher}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>No more items than requested are emitted; completion follows the last match.</li>
+ *   <li>Requests from within {@code onNext} and cancellation are honoured.</li>
+ *   <li>Invalid requests are signalled as errors.</li>
+ *   <li>The streamed search agrees with {@link CatalogService#searchByToken(String)}.</li>
+ * </ul>
+ */
+class ItemPublisherTest {
+
+    /** Subscriber recording signals; requests {@code perItem} more after each item if positive. */
+    private static class Recorder implements Flow.Subscriber<Item> {
+        final List<String> ids = new ArrayList<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        final int perItem;
+        Flow.Subscription subscription;
+        boolean completed;
+
+        Recorder(int perItem) {
+            this.perItem = perItem;
+        }
+
+        @Override public void onSubscribe(Flow.Subscription s) { subscription = s; }
+        @Override public void onNext(Item item) {
+            ids.add(item.id());
+            if (perItem > 0) subscription.request(perItem);
+        }
+        @Override public void onError(Throwable t) { done.completeExceptionally(t); }
+        @Override public void onComplete() {
+            completed = true;
+            done.complete(null);
+        }
+    }
+
+    private static OrderedItemIndex sample(int n) {
+        OrderedItemIndex index = new OrderedItemIndex();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < n; i++) items.add(new Item("id-" + i, (i % 2 == 0 ? "Star " : "Moon ") + i, "Lights", "d"));
+        index.onReload(items);
+        return index;
+    }
+
+    @Test
+    void emitsOnlyWhatIsRequested() {
+        // Arrange
+        ItemPublisher publisher = new ItemPublisher(sample(200), e -> e.contains("star"), Runnable::run);
+        Recorder r = new Recorder(0);
+        publisher.subscribe(r);
+
+        // Act
+        r.subscription.request(3);
+
+        // Assert
+        assertEquals(List.of("id-0", "id-2", "id-4"), r.ids);
+        assertFalse(r.completed, "More matches remain, the stream must not complete");
+
+        // Act: ask for everything
+        r.subscription.request(Long.MAX_VALUE);
+
+        // Assert
+        assertEquals(100, r.ids.size(), "Every match should be emitted exactly once");
+        assertTrue(r.completed);
+    }
+
+    @Test
+    void requestFromOnNextAndCancelAreHonoured() {
+        // Arrange
+        OrderedItemIndex index = sample(500);
+        Recorder oneByOne = new Recorder(1);
+        Recorder cancelling = new Recorder(0) {
+            @Override public void onNext(Item item) {
+                super.onNext(item);
+                if (ids.size() == 5) subscription.cancel();
+            }
+        };
+        Recorder invalid = new Recorder(0);
+
+        // Act
+        new ItemPublisher(index, e -> true, Runnable::run).subscribe(oneByOne);
+        oneByOne.subscription.request(1);
+        new ItemPublisher(index, e -> true, Runnable::run).subscribe(cancelling);
+        cancelling.subscription.request(100);
+        new ItemPublisher(index, e -> true, Runnable::run).subscribe(invalid);
+        invalid.subscription.request(0);
+
+        // Assert
+        assertEquals(500, oneByOne.ids.size(), "Re-entrant requests must not recurse or lose items");
+        assertTrue(oneByOne.completed);
+        assertEquals(5, cancelling.ids.size(), "No item may follow cancel()");
+        assertTrue(invalid.done.isCompletedExceptionally(), "Non-positive request must be signalled (rule 3.9)");
+    }
+
+    @Test
+    void streamedSearchMatchesListSearch() throws Exception {
+        // Arrange
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-flow").resolve("items.csv"));
+        CatalogService service = new CatalogService(repo);
+        for (int i = 0; i < 30; i++) service.upsertItem("id-" + i, (i % 3 == 0 ? "Star " : "Moon ") + i, "Lights", "d");
+        Recorder r = new Recorder(2);
+
+        // Act
+        service.publishSearch("STAR").subscribe(r);
+        r.subscription.request(2);
+        r.done.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(service.searchByToken("star").stream().map(Item::id).toList(), r.ids);
+    }
+}
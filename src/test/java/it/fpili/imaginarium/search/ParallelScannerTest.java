@@ -0,0 +1,40 @@
+package it.fpili.imaginarium.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParallelScanner}.
+ * <p>
+ * Verifies that parallel and sequential paths return the same elements in the original order,
+ * and that invalid configurations are rejected.
+ * </p>
+ */
+class ParallelScannerTest {
+
+    @Test
+    void parallelScanKeepsOriginalOrder() {
+        // Arrange
+        List<Integer> data = IntStream.range(0, 100_003).boxed().toList();
+        List<Integer> expected = data.stream().filter(i -> i % 7 == 3).toList();
+
+        try (ParallelScanner parallel = new ParallelScanner(4, 1_000, 512);
+             ParallelScanner sequential = new ParallelScanner(1, Integer.MAX_VALUE, 512)) {
+            // Act + Assert
+            assertEquals(expected, parallel.filter(data, i -> i % 7 == 3), "Parallel scan must preserve order");
+            assertEquals(expected, sequential.filter(data, i -> i % 7 == 3), "Sequential path must agree");
+            assertTrue(parallel.filter(List.<Integer>of(), i -> true).isEmpty(), "Empty input gives empty output");
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(2, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(2, 10, 0));
+    }
+}
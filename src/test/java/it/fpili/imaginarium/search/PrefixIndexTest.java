@@ -0,0 +1,75 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PrefixIndex}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Completions over names and categories, ranked by frequency then alphabetically.</li>
+ *   <li>Prefixes ending inside a compressed edge.</li>
+ *   <li>Incremental updates and deletes, including node merging back to a compact trie.</li>
+ * </ul>
+ */
+class PrefixIndexTest {
+
+    private static PrefixIndex sample() {
+        PrefixIndex index = new PrefixIndex();
+        index.onReload(List.of(
+                new Item("id-1", "Star Lantern", "Lights", ""),
+                new Item("id-2", "Star Compass", "Tools", ""),
+                new Item("id-3", "Stardust Jar", "Tools", ""),
+                new Item("id-4", "Sky Spoon", "Tools", "")));
+        return index;
+    }
+
+    @Test
+    void suggestsMostFrequentCompletionsFirst() {
+        // Arrange
+        PrefixIndex index = sample();
+
+        // Act + Assert
+        assertEquals(List.of("Star Compass", "Star Lantern", "Stardust Jar"), index.suggest("star", 5),
+                "Equal weights should be ordered alphabetically");
+        assertEquals(List.of("Tools", "Lights"), index.suggest("", 2),
+                "Category used by three items should rank first, then alphabetical order");
+        assertEquals(List.of("Star Compass"), index.suggest("star c", 1), "Only k results should be returned");
+    }
+
+    @Test
+    void prefixEndingInsideEdgeAndMisses() {
+        // Arrange
+        PrefixIndex index = sample();
+
+        // Act + Assert
+        assertEquals(List.of("Sky Spoon"), index.suggest("sky s", 3), "Prefix may end inside a compressed edge");
+        assertTrue(index.suggest("skx", 3).isEmpty(), "Diverging prefix should have no completions");
+        assertTrue(index.suggest("sky spoons", 3).isEmpty(), "Prefix longer than any term should have no completions");
+    }
+
+    @Test
+    void updatesAndDeletesKeepTrieCompact() {
+        // Arrange
+        PrefixIndex index = sample();
+        int nodesBefore = index.footprint().nodes();
+
+        // Act
+        index.onSave(new Item("id-5", "Starfish", "Lights", ""));
+        index.onSave(new Item("id-1", "Moon Lantern", "Lights", ""));
+        index.onDelete("id-5");
+        index.onSave(new Item("id-1", "Star Lantern", "Lights", ""));
+
+        // Assert
+        assertEquals(List.of("Star Compass", "Star Lantern", "Stardust Jar"), index.suggest("star", 5));
+        assertTrue(index.suggest("moon", 5).isEmpty(), "Renamed-away term should disappear");
+        assertEquals(nodesBefore, index.footprint().nodes(), "Removing terms should merge nodes back");
+        assertEquals(6, index.footprint().terms(), "Four names and two categories should remain");
+        assertTrue(index.footprint().estimatedBytes() > 0, "Footprint estimate should be reported");
+    }
+}
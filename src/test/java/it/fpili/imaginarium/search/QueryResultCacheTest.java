@@ -0,0 +1,78 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.service.CatalogService;
+import it.fpili.imaginarium.util.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link QueryResultCache} and its use by {@link CatalogService#searchByToken(String)}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Entries are served only for the version they were stored at.</li>
+ *   <li>Least recently used queries are evicted when full.</li>
+ *   <li>Repository writes invalidate cached search results.</li>
+ * </ul>
+ */
+class QueryResultCacheTest {
+
+    @Test
+    void servesOnlyMatchingVersion() {
+        // Arrange
+        QueryResultCache<String> cache = new QueryResultCache<>(4);
+        cache.put("star", 1, "v1");
+
+        // Act + Assert
+        assertEquals("v1", cache.get("star", 1), "Same version should hit");
+        assertNull(cache.get("star", 2), "Newer version should miss");
+        assertNull(cache.get("star", 1), "Stale entry should have been dropped");
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.evictions(), "Stale entry counts as an eviction");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        // Arrange
+        QueryResultCache<String> cache = new QueryResultCache<>(2);
+        cache.put("a", 0, "A");
+        cache.put("b", 0, "B");
+        cache.get("a", 0);
+
+        // Act
+        cache.put("c", 0, "C");
+
+        // Assert
+        assertEquals("A", cache.get("a", 0), "Recently used entry should survive");
+        assertNull(cache.get("b", 0), "Least recently used entry should be evicted");
+        assertEquals(2, cache.stats().size());
+        assertThrows(IllegalArgumentException.class, () -> new QueryResultCache<String>(0));
+    }
+
+    @Test
+    void catalogWritesInvalidateCachedSearches() throws Exception {
+        // Arrange
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-qcache").resolve("items.csv"));
+        CatalogService service = new CatalogService(repo);
+        service.upsertItem("id-1", "Star Lantern", "Lights", "Glows");
+        List<Item> first = service.searchByToken("STAR");
+
+        // Act
+        List<Item> second = service.searchByToken("  star ");
+        service.upsertItem("id-2", "Star Compass", "Tools", "Points");
+        List<Item> third = service.searchByToken("star");
+
+        // Assert
+        assertSame(first, second, "Normalized repeat query should be served from the cache");
+        assertEquals(2, third.size(), "Write must make the cached result stale");
+        assertEquals(1, service.searchCacheStats().hits());
+    }
+}
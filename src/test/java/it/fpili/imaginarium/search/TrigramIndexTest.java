@@ -0,0 +1,84 @@
+package it.fpili.imaginarium.search;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.persistence.ObservableRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TrigramIndex}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Results equal a naive case-insensitive substring scan, in insertion order.</li>
+ *   <li>Short (sub-trigram) queries are answered as well.</li>
+ *   <li>Updates and deletes published by an {@link ObservableRepository} are applied incrementally.</li>
+ * </ul>
+ */
+class TrigramIndexTest {
+
+    private static List<Item> naive(Iterable<Item> items, String q) {
+        List<Item> out = new ArrayList<>();
+        for (Item i : items) {
+            if (TextFolding.fold(i.name()).contains(q) || TextFolding.fold(i.category()).contains(q)) out.add(i);
+        }
+        return out;
+    }
+
+    @Test
+    void matchesNaiveScanOnRandomCatalog() {
+        // Arrange
+        String[] words = {"Sky", "Spoon", "Echo", "Jar", "Dream", "Compass", "Star", "Lantern", "Tools", "Lights"};
+        Random rnd = new Random(7);
+        Map<String, Item> catalog = new LinkedHashMap<>();
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < 500; i++) {
+            Item it = new Item("id-" + rnd.nextInt(300),
+                    words[rnd.nextInt(words.length)] + " " + words[rnd.nextInt(words.length)],
+                    words[rnd.nextInt(words.length)], "");
+            catalog.put(it.id(), it);
+            index.onSave(it);
+            if (i % 7 == 0) {
+                String victim = catalog.keySet().iterator().next();
+                catalog.remove(victim);
+                index.onDelete(victim);
+            }
+        }
+
+        // Act + Assert
+        for (String q : List.of("s", "sp", "spo", "spoon", "y sp", "ar", "lantern", "tools", "zzz", "n s")) {
+            assertEquals(naive(catalog.values(), q), index.search(q), "Index must agree with a linear scan for: " + q);
+        }
+        assertEquals(catalog.size(), index.size(), "Index should hold one document per live item");
+    }
+
+    @Test
+    void followsRepositoryWritesIncrementally() throws Exception {
+        // Arrange
+        CsvItemRepository csv = new CsvItemRepository(Files.createTempDirectory("imag-tri").resolve("items.csv"));
+        csv.save(new Item("id-1", "Sky Spoon", "Tools", "Scoops clouds"));
+        ObservableRepository<Item, String> repo = new ObservableRepository<>(csv);
+        TrigramIndex index = new TrigramIndex();
+        repo.subscribe(index);
+
+        // Act
+        repo.save(new Item("id-2", "Echo Jar", "Containers", "Stores echoes"));
+        repo.save(new Item("id-1", "Cloud Spoon", "Tools", "Renamed"));
+        repo.deleteById("id-2");
+
+        // Assert
+        assertEquals(List.of("Cloud Spoon"), index.search("spoon").stream().map(Item::name).toList(),
+                "Updated item should be found under its new name");
+        assertTrue(index.search("sky").isEmpty(), "Old name must no longer match after update");
+        assertTrue(index.search("echo").isEmpty(), "Deleted item must no longer match");
+    }
+}
@@ -0,0 +1,81 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.AsyncRepositoryAdapter;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the asynchronous facades {@link AsyncCatalogService} and {@link AsyncRepositoryAdapter}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Many concurrent upserts fanned out on virtual threads are all persisted.</li>
+ *   <li>Failures surface as the original {@link ApplicationException} on the future.</li>
+ *   <li>The repository adapter returns the same data as the blocking repository.</li>
+ * </ul>
+ */
+class AsyncCatalogServiceTest {
+
+    @Test
+    void concurrentUpsertsAreAllPersisted() throws Exception {
+        // Arrange
+        Path csv = Files.createTempDirectory("imag-async").resolve("items.csv");
+        CsvItemRepository repo = new CsvItemRepository(csv);
+
+        try (AsyncCatalogService async = new AsyncCatalogService(new CatalogService(repo))) {
+            // Act
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                writes.add(async.upsertItem("id-" + i, "Item " + i, "Tools", "Async write"));
+            }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            // Assert
+            assertEquals(50, async.findAll().join().size(), "All concurrent writes should be visible");
+            assertEquals(50, new CsvItemRepository(csv).findAll().size(), "All writes should be persisted to disk");
+        }
+    }
+
+    @Test
+    void failuresCompleteWithApplicationException() throws Exception {
+        // Arrange
+        Path csv = Files.createTempDirectory("imag-async-fail").resolve("items.csv");
+
+        try (AsyncCatalogService async = new AsyncCatalogService(new CatalogService(new CsvItemRepository(csv)))) {
+            // Act
+            CompletableFuture<Void> delete = async.deleteItem("missing");
+
+            // Assert
+            ExecutionException ex = assertThrows(ExecutionException.class, delete::get);
+            assertInstanceOf(ApplicationException.class, ex.getCause(),
+                    "Future should fail with the original ApplicationException");
+        }
+    }
+
+    @Test
+    void repositoryAdapterDelegatesToBlockingRepository() throws Exception {
+        // Arrange
+        Path csv = Files.createTempDirectory("imag-async-repo").resolve("items.csv");
+
+        try (AsyncRepositoryAdapter<Item, String> repo = new AsyncRepositoryAdapter<>(new CsvItemRepository(csv))) {
+            // Act
+            repo.save(new Item("id-1", "Sky Spoon", "Tools", "Scoops clouds")).join();
+
+            // Assert
+            assertEquals("Sky Spoon", repo.findById("id-1").join().orElseThrow().name());
+            repo.deleteById("id-1").join();
+            assertTrue(repo.findAll().join().isEmpty(), "Item should be gone after async delete");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkValidator} and {@link CatalogService#upsertAll(Stream)}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Bad records are reported with their index and field, without stopping the run.</li>
+ *   <li>Valid items reach the sink in input order, one batch per chunk.</li>
+ *   <li>Bulk upserts are persisted and visible to searches.</li>
+ * </ul>
+ */
+class BulkValidatorTest {
+
+    @Test
+    void reportsBadRecordsAndKeepsOrder() throws Exception {
+        // Arrange
+        List<RawRecord> records = IntStream.range(0, 1_000)
+                .mapToObj(i -> i % 97 == 0
+                        ? new RawRecord("id-" + i, "<<>>", "Cat", "Desc")
+                        : new RawRecord("  id-" + i, "Item   " + i, "Cat", "Desc"))
+                .toList();
+        List<List<Item>> batches = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(4)) {
+            // Act
+            BulkReport report = new BulkValidator(pool, 64, 3).run(records.stream(), batches::add);
+
+            // Assert
+            assertEquals(1_000, report.total());
+            assertEquals(11, report.rejected(), "Every 97th record has an empty name");
+            assertEquals(new BulkReport.RecordError(97, "name: Input cannot be empty"), report.errors().get(1));
+            List<Item> saved = batches.stream().flatMap(List::stream).toList();
+            assertEquals(report.accepted(), saved.size());
+            assertEquals("id-1", saved.get(0).id(), "Fields should be sanitized");
+            assertEquals("Item 2", saved.get(1).name());
+            assertEquals("id-999", saved.get(saved.size() - 1).id(), "Input order should be kept");
+            assertEquals(16, batches.size(), "One batch per chunk");
+        }
+    }
+
+    @Test
+    void upsertAllPersistsValidRecords() throws Exception {
+        // Arrange
+        Path csv = Files.createTempDirectory("imag-bulk").resolve("items.csv");
+        CatalogService service = new CatalogService(new CsvItemRepository(csv));
+        service.searchByToken("lamp"); // build the indexes before the import
+
+        // Act
+        BulkReport report = service.upsertAll(Stream.of(
+                new RawRecord("a", "Moon Lamp", "Lights", "Soft"),
+                new RawRecord(null, "Sun Lamp", "Lights", "Warm"),
+                new RawRecord("b", "Star Lamp", "Lights", "Bright")));
+
+        // Assert
+        assertEquals(2, report.accepted());
+        assertEquals(List.of(new BulkReport.RecordError(1, "id: missing")), report.errors());
+        assertEquals(2, service.searchByToken("lamp").size(), "Indexes should see the bulk save");
+        assertEquals(2, new CsvItemRepository(csv).findAll().size(), "Items should be persisted");
+    }
+}
@@ -0,0 +1,99 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for cursor-based pagination in {@link CatalogService}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Walking all pages yields every item once, in repository order.</li>
+ *   <li>Writes between pages neither duplicate nor skip items present for the whole walk.</li>
+ *   <li>Filtered pages agree with {@link CatalogService#searchByToken(String)}.</li>
+ *   <li>Malformed cursors are rejected as validation errors.</li>
+ * </ul>
+ */
+class CatalogServicePagingTest {
+
+    private static CatalogService serviceWith(int n) throws Exception {
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-page").resolve("items.csv"));
+        CatalogService service = new CatalogService(repo);
+        for (int i = 0; i < n; i++) {
+            service.upsertItem("id-" + i, (i % 3 == 0 ? "Star " : "Moon ") + i, "Lights", "Glows");
+        }
+        return service;
+    }
+
+    @Test
+    void walksAllPagesInOrder() throws Exception {
+        // Arrange
+        CatalogService service = serviceWith(23);
+
+        // Act
+        List<Item> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Page<Item> page = service.findPage(5, cursor);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(service.findAll(), seen, "Pages should concatenate to the full catalog");
+        assertEquals(5, pages, "23 items in pages of 5 should take 5 pages");
+    }
+
+    @Test
+    void stableUnderConcurrentWrites() throws Exception {
+        // Arrange
+        CatalogService service = serviceWith(10);
+
+        // Act: read first page, then update, delete and insert before reading the rest
+        Page<Item> first = service.findPage(4, null);
+        service.upsertItem("id-1", "Renamed", "Lights", "Glows");
+        service.deleteItem("id-6");
+        service.upsertItem("id-new", "Late", "Lights", "Glows");
+        List<String> ids = new ArrayList<>(first.items().stream().map(Item::id).toList());
+        String cursor = first.nextCursor();
+        while (cursor != null) {
+            Page<Item> page = service.findPage(4, cursor);
+            page.items().forEach(i -> ids.add(i.id()));
+            cursor = page.nextCursor();
+        }
+
+        // Assert
+        assertEquals(List.of("id-0", "id-1", "id-2", "id-3", "id-4", "id-5", "id-7", "id-8", "id-9", "id-new"), ids,
+                "No item should be duplicated or skipped; deletes vanish and inserts appear at the end");
+    }
+
+    @Test
+    void searchPagesMatchFullSearch() throws Exception {
+        // Arrange
+        CatalogService service = serviceWith(30);
+
+        // Act
+        List<Item> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Item> page = service.searchPage("star", 4, cursor);
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(service.searchByToken("star"), paged, "Paged search should equal the unpaged search");
+        assertThrows(InputValidationException.class, () -> service.findPage(5, "not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(0, null));
+    }
+}
@@ -0,0 +1,204 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.adapter.CsvRepositoryToJsonAdapter;
+import it.fpili.imaginarium.exception.ApplicationException;
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.exception.IoOperationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import it.fpili.imaginarium.persistence.InMemoryItemRepository;
+import it.fpili.imaginarium.persistence.Repository;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ItemImporter} and {@link CatalogService#importFile(Path, ConflictPolicy)}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>CSV and JSON files are streamed, sanitized and committed; bad rows are reported.</li>
+ *   <li>Duplicate ids are overwritten, skipped or fail the import according to the policy.</li>
+ *   <li>Large inputs are committed in batches.</li>
+ *   <li>Exported JSON streams back into any repository.</li>
+ * </ul>
+ */
+class ItemImporterTest {
+
+    private static CatalogService seeded(Path dir) throws Exception {
+        CatalogService service = new CatalogService(new CsvItemRepository(dir.resolve("items.csv")));
+        service.upsertItem("a", "Moon Lamp", "Lights", "Old");
+        return service;
+    }
+
+    @Test
+    void importsCsvAndReportsRejectedRows() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-import");
+        CatalogService service = seeded(dir);
+        Path file = Files.writeString(dir.resolve("in.csv"), String.join("\n",
+                "#lastVersion=7",
+                "ID,Name,Category,Description",
+                "b, Star   Lamp ,Lights,\"Bright, warm\"",
+                "c,<<>>,Lights,Broken",
+                "d,Sun Lamp,Lights",
+                "e,Sky Lamp,Lights,Blue",
+                ""));
+
+        // Act
+        ImportReport report = service.importFile(file, ConflictPolicy.SKIP);
+
+        // Assert
+        assertEquals(4, report.rows(), "Metadata, header and blank lines should not count as rows");
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new BulkReport.RecordError(1, "name: Input cannot be empty"),
+                new BulkReport.RecordError(2, "description: missing")), report.rejected());
+        assertEquals("Star Lamp", service.query("id:b").get(0).name(), "Fields should be sanitized");
+        assertEquals("Bright, warm", service.query("id:b").get(0).description(), "Quoted commas should be kept");
+        assertEquals(3, service.searchByToken("lamp").size(), "Indexes should see the import");
+        assertTrue(report.rowsPerSecond() > 0, "Throughput should be reported");
+    }
+
+    @Test
+    void importsHashPrefixedIdsFromRepositoryFiles() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-import-hash");
+        CsvItemRepository source = new CsvItemRepository(dir.resolve("export.csv"));
+        source.save(new Item("#42", "Hash Jar", "Containers", "Tagged"));
+        source.save(new Item("b", "Echo Jar", "Containers", "Plain"));
+        CatalogService service = seeded(dir);
+
+        // Act
+        ImportReport report = service.importFile(dir.resolve("export.csv"), ConflictPolicy.SKIP);
+
+        // Assert
+        assertEquals(2, report.rows(), "Only the leading version mark and the header should be skipped");
+        assertEquals(2, report.imported());
+        assertTrue(report.rejected().isEmpty(), "Nothing should be rejected: " + report.rejected());
+        assertEquals(List.of("a", "#42", "b"), service.findAll().stream().map(Item::id).toList(),
+                "The #-prefixed id should be imported like any other");
+        assertEquals("Tagged", service.findAll().get(1).description());
+    }
+
+    @Test
+    void importsJsonWithEachConflictPolicy() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-import");
+        Path file = Files.writeString(dir.resolve("in.json"), """
+                {"meta": {"v": [1, 2]}, "data": [
+                  {"id": "a", "name": "Moon Lamp \\u0032", "category": "Lights", "description": "New", "extra": null},
+                  {"ID": "b", "Name": "Star Lamp", "Category": "Lights", "Description": "One"},
+                  {"id": "b", "name": "Star Lamp", "category": "Lights", "description": "Two"}
+                ]}""");
+
+        // Act + Assert
+        CatalogService overwrite = seeded(dir.resolve("o"));
+        ImportReport o = overwrite.importFile(file, ConflictPolicy.OVERWRITE);
+        assertEquals(3, o.imported());
+        assertEquals("Moon Lamp 2", overwrite.query("id:a").get(0).name(), "Existing item should be replaced");
+        assertEquals("Two", overwrite.query("id:b").get(0).description(), "Last occurrence should win");
+
+        CatalogService skip = seeded(dir.resolve("s"));
+        ImportReport s = skip.importFile(file, ConflictPolicy.SKIP);
+        assertEquals(1, s.imported());
+        assertEquals(2, s.skipped());
+        assertEquals("Old", skip.query("id:a").get(0).description(), "Existing item should be kept");
+        assertEquals("One", skip.query("id:b").get(0).description(), "First occurrence should win");
+
+        CatalogService fail = seeded(dir.resolve("f"));
+        InputValidationException ex = assertThrows(InputValidationException.class,
+                () -> fail.importFile(file, ConflictPolicy.FAIL));
+        assertEquals("Duplicate id: a", ex.getMessage());
+        assertEquals("Old", fail.query("id:a").get(0).description(), "Nothing should be overwritten");
+    }
+
+    @Test
+    void rejectsUnsupportedAndMalformedFiles() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-import");
+        CatalogService service = seeded(dir);
+        Path txt = Files.writeString(dir.resolve("in.txt"), "a,b,c,d");
+        Path bad = Files.writeString(dir.resolve("bad.json"), "[{\"id\": \"x\" \"name\": 1}]");
+
+        // Act + Assert
+        assertThrows(InputValidationException.class, () -> service.importFile(txt, ConflictPolicy.SKIP));
+        assertThrows(IoOperationException.class, () -> service.importFile(bad, ConflictPolicy.SKIP));
+        assertThrows(IoOperationException.class,
+                () -> service.importFile(dir.resolve("missing.csv"), ConflictPolicy.SKIP));
+    }
+
+    @Test
+    void commitsLargeInputsInBatches() throws Exception {
+        // Arrange
+        Path dir = Files.createTempDirectory("imag-import");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 2_500; i++) csv.append("id-").append(i).append(",Item ").append(i).append(",Cat,Desc\n");
+        Path file = Files.writeString(dir.resolve("in.csv"), csv);
+        int[] commits = {0};
+        CsvItemRepository csvRepo = new CsvItemRepository(dir.resolve("items.csv"));
+        Repository<Item, String> target = new Repository<>() {
+            @Override
+            public void save(Item entity) throws ApplicationException {
+                csvRepo.save(entity);
+            }
+
+            @Override
+            public void saveAll(List<? extends Item> entities) throws ApplicationException {
+                commits[0]++;
+                csvRepo.saveAll(entities);
+            }
+
+            @Override
+            public Optional<Item> findById(String id) throws ApplicationException {
+                return csvRepo.findById(id);
+            }
+
+            @Override
+            public List<Item> findAll() throws ApplicationException {
+                return csvRepo.findAll();
+            }
+
+            @Override
+            public void deleteById(String id) throws ApplicationException {
+                csvRepo.deleteById(id);
+            }
+        };
+
+        // Act
+        ImportReport report = new ItemImporter(target, new BulkValidator(ForkJoinPool.commonPool(), 100, 4), 1_000)
+                .run(file, ConflictPolicy.OVERWRITE);
+
+        // Assert
+        assertEquals(2_500, report.imported());
+        assertEquals(3, commits[0], "1000 + 1000 + final flush of 500");
+        assertEquals(2_500, new CsvItemRepository(dir.resolve("items.csv")).findAll().size());
+    }
+
+    @Test
+    void jsonExportStreamsBackIntoAnyRepository() throws Exception {
+        // Arrange
+        CsvItemRepository source = new CsvItemRepository(Files.createTempDirectory("imag-import").resolve("items.csv"));
+        source.saveAll(List.of(
+                new Item("a", "Moon Lamp", "Lights", "Soft, warm"),
+                new Item("b", "Caffè Jar", "Containers", "Line1\nLine2")));
+        String json = new CsvRepositoryToJsonAdapter(source).toJson();
+        InMemoryItemRepository target = new InMemoryItemRepository();
+
+        // Act
+        ImportReport report = new ItemImporter(target).importJson(new StringReader(json), ConflictPolicy.OVERWRITE);
+
+        // Assert
+        assertEquals(2, report.imported());
+        assertEquals("Moon Lamp", target.findById("a").orElseThrow().name());
+        assertEquals("Soft, warm", target.findById("a").orElseThrow().description());
+        assertEquals("Line1Line2", target.findById("b").orElseThrow().description(), "Sanitizer rules should apply to imported records");
+        assertTrue(report.rejected().isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package it.fpili.imaginarium.service;
+
+import it.fpili.imaginarium.exception.InputValidationException;
+import it.fpili.imaginarium.model.Item;
+import it.fpili.imaginarium.persistence.CsvItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for field-aware queries in {@link CatalogService}.
+ * <p>
+ * Scope:
+ * <ul>
+ *   <li>Field, prefix and negated terms select the expected items.</li>
+ *   <li>The planner picks the most selective access path and reports it via explain.</li>
+ *   <li>Malformed queries are rejected as validation errors.</li>
+ * </ul>
+ */
+class QueryPlannerTest {
+
+    private static CatalogService sample() throws Exception {
+        CsvItemRepository repo = new CsvItemRepository(Files.createTempDirectory("imag-query").resolve("items.csv"));
+        CatalogService service = new CatalogService(repo);
+        service.upsertItem("c-1", "Rhodesian Ridgeback", "Cane", "Grande e forte");
+        service.upsertItem("c-2", "Chihuahua", "Cane", "Molto piccolo");
+        service.upsertItem("c-3", "Rhea Toy", "Cane", "Giocattolo piccolo");
+        service.upsertItem("g-1", "Rhino Cat", "Gatto", "Curioso");
+        for (int i = 0; i < 20; i++) service.upsertItem("x-" + i, "Lantern " + i, "Lights", "Glows");
+        return service;
+    }
+
+    @Test
+    void evaluatesFieldPrefixAndNegatedTerms() throws Exception {
+        // Arrange
+        CatalogService service = sample();
+
+        // Act
+        List<Item> found = service.query("category:Cane name:rh* -desc:piccolo");
+
+        // Assert
+        assertEquals(List.of("c-1"), found.stream().map(Item::id).toList());
+        assertEquals(List.of("c-2", "c-3"), service.query("cat:cane desc:PICCOLO").stream().map(Item::id).toList(),
+                "Matching should be case-insensitive and keep repository order");
+        assertEquals(List.of("g-1"), service.query("rh* -cane").stream().map(Item::id).toList(),
+                "Bare terms should match name or category");
+    }
+
+    @Test
+    void choosesMostSelectiveAccessPath() throws Exception {
+        // Arrange
+        CatalogService service = sample();
+
+        // Act + Assert
+        assertEquals(QueryPlan.AccessPath.ID_LOOKUP, service.explain("category:cane id:c-2").accessPath());
+        assertEquals(QueryPlan.AccessPath.TEXT_INDEX, service.explain("category:cane chihuahua").accessPath(),
+                "Rare trigram postings should beat a large category");
+        QueryPlan plan = service.explain("category:Cane name:rh* -desc:piccolo");
+        assertEquals(QueryPlan.AccessPath.CATEGORY_INDEX, plan.accessPath());
+        assertEquals("CATEGORY_INDEX[category:cane] ~3 rows | filter: name:rh* AND -desc:piccolo", plan.explain());
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN, service.explain("desc:glows").accessPath());
+        assertEquals(20, service.query("desc:glows").size(), "Full scan should be pushed down to the repository");
+    }
+
+    @Test
+    void rejectsMalformedQueries() throws Exception {
+        // Arrange
+        CatalogService service = sample();
+
+        // Act + Assert
+        assertThrows(InputValidationException.class, () -> service.query("   "));
+        assertThrows(InputValidationException.class, () -> service.query("color:red"));
+        assertThrows(InputValidationException.class, () -> service.query("name:*"));
+    }
+}
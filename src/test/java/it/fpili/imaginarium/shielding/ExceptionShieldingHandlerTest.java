@@ -3,6 +3,9 @@ package it.fpili.imaginarium.shielding;
 import it.fpili.imaginarium.exception.ApplicationException;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -15,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>Low-level exceptions are logged and rethrown as {@link ApplicationException} with a safe message.</li>
  *   <li>A pre-existing {@link ApplicationException} is propagated unchanged (controlled propagation).</li>
  *   <li>The {@code void}-returning overload works equivalently.</li>
+ *   <li>The asynchronous variant completes its future with the same shielded exception.</li>
  * </ul>
  */
 class ExceptionShieldingHandlerTest {
@@ -61,5 +65,25 @@ class ExceptionShieldingHandlerTest {
         assertEquals("Operation failed", ex.getMessage(),
                 "Safe message should be returned by the void overload as well");
     }
-}
 
+    @Test
+    void asyncGuardShieldsOnVirtualThread() throws Exception {
+        // Arrange
+        var handler = new ExceptionShieldingHandler(Logger.getLogger("test"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act
+            var ok = handler.guardAsync(() -> 42, "Unused", executor);
+            var failed = handler.guardAsync(() -> { throw new IllegalStateException("disk details"); },
+                    "Async failure", executor);
+
+            // Assert
+            assertEquals(42, ok.get(), "Successful action result should be returned");
+            ExecutionException ex = assertThrows(ExecutionException.class, failed::get);
+            assertInstanceOf(ApplicationException.class, ex.getCause(),
+                    "Low-level exception should be shielded as ApplicationException");
+            assertEquals("Async failure", ex.getCause().getMessage(),
+                    "The user-facing message must be the safe, generic one");
+        }
+    }
+}
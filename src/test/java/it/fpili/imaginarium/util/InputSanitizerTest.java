@@ -3,6 +3,8 @@ package it.fpili.imaginarium.util;
 import it.fpili.imaginarium.exception.InputValidationException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -16,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>Handling of empty results after sanitization.</li>
  *   <li>Allowlisted punctuation retained correctly.</li>
  *   <li>Null handling (NPE) and boundary conditions.</li>
+ *   <li>Identical results to the original regex-based implementation.</li>
  * </ul>
  */
 class InputSanitizerTest {
@@ -83,4 +86,58 @@ class InputSanitizerTest {
                 () -> InputSanitizer.sanitizeLine(null, 10),
                 "Null raw input should throw NPE per contract");
     }
+
+    @Test
+    void matchesRegexImplementationOnRandomInput() {
+        // Arrange: alphabet mixing allowed, disallowed, control, whitespace and non-ASCII code points
+        String[] pieces = {"a", "Z", "7", " ", "  ", "\t", "\n", "\u0000", "\u007F", "<", "*", "\"", ".", "%",
+                "é", "ß", "٣", "Ⅻ", "½", "\u00A0", "\u2028", "\u0085", "😀", "\uD835\uDC00", "\uD800", "中"};
+        Random rnd = new Random(7);
+
+        for (int round = 0; round < 20_000; round++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = rnd.nextInt(12);
+            for (int i = 0; i < parts; i++) sb.append(pieces[rnd.nextInt(pieces.length)]);
+            String raw = sb.toString();
+            int maxLen = 1 + rnd.nextInt(12);
+
+            // Act
+            String expected;
+            String actual;
+            try {
+                expected = regexSanitize(raw, maxLen);
+            } catch (InputValidationException e) {
+                expected = "!" + e.getMessage();
+            }
+            try {
+                actual = InputSanitizer.sanitizeLine(raw, maxLen);
+            } catch (InputValidationException e) {
+                actual = "!" + e.getMessage();
+            }
+
+            // Assert
+            assertEquals(expected, actual, "Mismatch for input '" + raw + "' (maxLen " + maxLen + ")");
+        }
+    }
+
+    @Test
+    void returnsCleanInputUnchanged() throws Exception {
+        // Arrange
+        String raw = "Star Lantern 42";
+
+        // Act + Assert
+        assertSame(raw, InputSanitizer.sanitizeLine(raw, 80), "Clean input should not be copied");
+    }
+
+    /** The original three-regex implementation, kept as the reference behaviour. */
+    private static String regexSanitize(String raw, int maxLen) throws InputValidationException {
+        String s = raw
+                .replaceAll("\\p{Cntrl}", "")
+                .replaceAll("[^\\p{L}\\p{N}\\s.,_\\-@#:/'+!?()&%]", "")
+                .replaceAll("\\s+", " ")
+                .trim();
+        if (s.isEmpty()) throw new InputValidationException("Input cannot be empty");
+        if (s.length() > maxLen) throw new InputValidationException("Input too long (max " + maxLen + ")");
+        return s;
+    }
 }
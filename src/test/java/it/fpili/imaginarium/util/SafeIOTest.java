@@ -1,5 +1,6 @@
 package it.fpili.imaginarium.util;
 
+import it.fpili.imaginarium.exception.ApplicationException;
 import it.fpili.imaginarium.exception.IoOperationException;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>UTF-8 write-read roundtrip.</li>
  *   <li>Automatic parent directory creation on write.</li>
  *   <li>Wrapped exception on read of non-existent file.</li>
+ *   <li>Streaming writes replace the target only when they complete.</li>
  * </ul>
  */
 class SafeIOTest {
@@ -59,5 +61,22 @@ class SafeIOTest {
                 () -> SafeIO.readUtf8(nowhere),
                 "Reading a non-existent file should throw IoOperationException");
     }
-}
 
+    @Test
+    void streamingWriteReplacesFileOnlyOnSuccess() throws Exception {
+        // Arrange
+        Path file = Files.createTempDirectory("imaginarium-test-stream").resolve("out/data.txt");
+        SafeIO.writeUtf8(file, out -> out.write("first äè"));
+
+        // Act
+        ApplicationException ex = assertThrows(ApplicationException.class, () -> SafeIO.writeUtf8(file, out -> {
+            out.write("partial");
+            throw new ApplicationException("producer failed");
+        }));
+
+        // Assert
+        assertEquals("producer failed", ex.getMessage(), "Producer failure should propagate unchanged");
+        assertEquals("first äè", SafeIO.readUtf8(file), "Failed write should keep the previous content");
+        assertFalse(Files.exists(file.resolveSibling("data.txt.tmp")), "Temporary file should be removed");
+    }
+}